@@ -0,0 +1,163 @@
+package prabench;
+
+import java.io.BufferedWriter;
+import java.io.ByteArrayOutputStream;
+import java.io.FileOutputStream;
+import java.io.IOException;
+import java.io.OutputStream;
+import java.io.OutputStreamWriter;
+import java.io.UncheckedIOException;
+import java.io.Writer;
+import java.nio.charset.StandardCharsets;
+import java.util.Locale;
+import java.util.Random;
+
+// Seeded generator of PRA01-PRA05 inputs in the formats the mains read, with
+// the query line(s) at the end. The same arguments always give the same file.
+// Output is streamed, so it scales to tens of millions of child records:
+//
+//   java -cp target/benchmarks.jar prabench.DataGen <1-5> <children> [seed] [avg children] [file]
+//
+// Children per parent are uniform in 1 .. 2*avg-1. String fields repeat from
+// small vocabularies in mixed case, so the case-insensitive filters match.
+public final class DataGen {
+	
+	private static final String[] FIRST = {"Aarav", "Diya", "Ishaan", "Kavya", "Rohan", "Sneha", "Vikram",
+			"Ananya", "Arjun", "Meera", "Kabir", "Riya", "Sagar", "Tanvi", "Yash", "Zoya"};
+	private static final String[] LAST = {"Sharma", "Patel", "Iyer", "Khan", "Das", "Reddy", "Gupta", "Nair"};
+	private static final String[] BRANDS = {"Chanel", "Gucci", "Dior", "Versace", "Zara", "Armani", "Prada", "Burberry"};
+	private static final String[] FRAGRANCES = {"Floral", "Woody", "Citrus", "Oriental", "Fresh"};
+	private static final String[] CYCLES = {"Hercules", "Hero", "Atlas", "Avon", "Btwin", "BSA", "Firefox", "Montra"};
+	private static final String[] PRODUCTS = {"Mango", "Orange", "Papaya", "Kiwi", "Apple", "Banana", "Grapes", "Guava"};
+	private static final String[] TALENTS = {"water", "light", "nature", "frost", "fast", "garden"};
+	
+	private DataGen() {
+	}
+	
+	public static void main(String[] args) throws IOException {
+		if (args.length < 2) {
+			System.err.println("usage: DataGen <1-5> <children> [seed] [avg children] [file]");
+			System.exit(2);
+		}
+		int prog = Integer.parseInt(args[0]);
+		long children = Long.parseLong(args[1]);
+		long seed = args.length > 2 ? Long.parseLong(args[2]) : 42;
+		int avg = args.length > 3 ? Integer.parseInt(args[3]) : 4;
+		try (OutputStream out = args.length > 4 ? new FileOutputStream(args[4]) : System.out) {
+			write(prog, children, seed, avg, out);
+		}
+	}
+	
+	// the whole input in memory, for benchmarks
+	public static byte[] generate(int prog, long children, long seed, int avg) {
+		ByteArrayOutputStream out = new ByteArrayOutputStream();
+		try {
+			write(prog, children, seed, avg, out);
+		} catch (IOException e) {
+			throw new UncheckedIOException(e);
+		}
+		return out.toByteArray();
+	}
+	
+	public static void write(int prog, long children, long seed, int avg, OutputStream os) throws IOException {
+		if (prog < 1 || prog > 5) {
+			throw new IllegalArgumentException("PRA program must be 1-5: " + prog);
+		}
+		// the child counts come from their own generator, replayed once to count the parents
+		long parents = 0;
+		Random counts = new Random(seed ^ 0x5DEECE66DL);
+		for (long left = children; left > 0; left -= childCount(counts, avg, left)) {
+			parents++;
+		}
+		counts = new Random(seed ^ 0x5DEECE66DL);
+		Random r = new Random(seed);
+		
+		Writer w = new BufferedWriter(new OutputStreamWriter(os, StandardCharsets.US_ASCII), 1 << 16);
+		line(w, parents);
+		long left = children;
+		for (long i = 0; i < parents; i++) {
+			int k = childCount(counts, avg, left);
+			left -= k;
+			switch (prog) {
+			case 1:
+				line(w, i + 1); line(w, person(r)); line(w, 18 + r.nextInt(60)); line(w, r.nextBoolean() ? "Male" : "Female");
+				line(w, k);
+				for (int j = 0; j < k; j++) {
+					line(w, 1 + r.nextInt(9999)); line(w, mixedCase(r, pick(r, BRANDS)));
+					line(w, Double.toString(r.nextInt(500_000) / 10.0)); line(w, pick(r, FRAGRANCES));
+				}
+				break;
+			case 2:
+				line(w, 1000 + i); line(w, person(r)); line(w, k);
+				for (int j = 0; j < k; j++) {
+					line(w, 1 + r.nextInt(9999)); line(w, mixedCase(r, pick(r, CYCLES))); line(w, 3000 + r.nextInt(57_000));
+				}
+				break;
+			case 3:
+				line(w, 1 + i); line(w, "Unit-" + (i + 1)); line(w, k);
+				for (int j = 0; j < k; j++) {
+					line(w, 1 + r.nextInt(999_999)); line(w, mixedCase(r, pick(r, FIRST))); line(w, 10_000 + r.nextInt(190_000));
+				}
+				break;
+			case 4:
+				line(w, 1 + i); line(w, "order" + (i + 1)); line(w, k);
+				for (int j = 0; j < k; j++) {
+					line(w, mixedCase(r, pick(r, PRODUCTS))); line(w, 1 + r.nextInt(100));
+				}
+				break;
+			default:
+				line(w, "fairy" + (i + 1)); line(w, mixedCase(r, pick(r, TALENTS)));
+				line(w, Double.toString(r.nextInt(1000) / 10.0)); line(w, k);
+				for (int j = 0; j < k; j++) {
+					line(w, r.nextInt(31));
+				}
+				break;
+			}
+		}
+		
+		switch (prog) {
+		case 1:
+			line(w, pick(r, BRANDS));
+			break;
+		case 2:
+			line(w, pick(r, CYCLES)); line(w, 59_000);
+			break;
+		case 3:
+			line(w, pick(r, FIRST)); line(w, 199_000);
+			break;
+		case 4:
+			line(w, 1 + (parents == 0 ? 0 : (long) (r.nextDouble() * parents))); line(w, pick(r, PRODUCTS));
+			break;
+		default:
+			line(w, pick(r, TALENTS));
+			break;
+		}
+		w.flush();
+	}
+	
+	private static int childCount(Random r, int avg, long left) {
+		return (int) Math.min(left, 1 + r.nextInt(Math.max(1, 2 * avg - 1)));
+	}
+	
+	private static String person(Random r) {
+		return pick(r, FIRST) + " " + pick(r, LAST);
+	}
+	
+	private static String pick(Random r, String[] values) {
+		return values[r.nextInt(values.length)];
+	}
+	
+	private static String mixedCase(Random r, String s) {
+		int c = r.nextInt(10);
+		return c == 0 ? s.toLowerCase(Locale.ROOT) : c == 1 ? s.toUpperCase(Locale.ROOT) : s;
+	}
+	
+	private static void line(Writer w, String s) throws IOException {
+		w.write(s);
+		w.write('\n');
+	}
+	
+	private static void line(Writer w, long v) throws IOException {
+		line(w, Long.toString(v));
+	}
+}
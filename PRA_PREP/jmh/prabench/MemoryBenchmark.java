@@ -0,0 +1,75 @@
+package prabench;
+
+import java.util.ArrayList;
+import java.util.concurrent.TimeUnit;
+
+import org.openjdk.jmh.annotations.AuxCounters;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+// Heap retained by each loaded PRA model, reported as the retainedBytes and
+// bytesPerChild counters (heap in use after a GC, with vs without the model).
+// Add -prof gc for the bytes allocated while parsing.
+//   java -jar target/benchmarks.jar MemoryBenchmark -p children=10000000
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.SingleShotTime)
+@OutputTimeUnit(TimeUnit.MILLISECONDS)
+@Warmup(iterations = 1)
+@Measurement(iterations = 3)
+@Fork(value = 1, jvmArgsAppend = "-Xmx8g")
+public class MemoryBenchmark {
+	
+	@Param({"1", "2", "3", "4", "5"})
+	public int prog;
+	
+	@Param("1000000")
+	public long children;
+	
+	private byte[] data;
+	
+	@State(Scope.Thread)
+	@AuxCounters(AuxCounters.Type.EVENTS)
+	public static class Footprint {
+		public long retainedBytes;
+		public long bytesPerChild;
+		
+		@Setup(Level.Iteration)
+		public void clear() {
+			retainedBytes = 0;
+			bytesPerChild = 0;
+		}
+	}
+	
+	@Setup
+	public void generate() {
+		data = DataGen.generate(prog, children, 42, 4);
+	}
+	
+	@Benchmark
+	public Object load(Footprint f) {
+		long before = usedAfterGc();
+		ArrayList<?> model = Pra.load(prog, data);
+		long after = usedAfterGc();
+		f.retainedBytes = after - before;
+		f.bytesPerChild = children == 0 ? 0 : f.retainedBytes / children;
+		return model;
+	}
+	
+	private static long usedAfterGc() {
+		Runtime rt = Runtime.getRuntime();
+		for (int i = 0; i < 3; i++) {
+			System.gc();
+		}
+		return rt.totalMemory() - rt.freeMemory();
+	}
+}
@@ -0,0 +1,49 @@
+package prabench;
+
+import java.util.concurrent.TimeUnit;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+// Text -> model parse time of each PRA program, sequential and --pipeline.
+//   java -jar target/benchmarks.jar ParseBenchmark -p children=10000000
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MILLISECONDS)
+@Warmup(iterations = 3)
+@Measurement(iterations = 5)
+@Fork(value = 1, jvmArgsAppend = "-Xmx8g")
+public class ParseBenchmark {
+	
+	@Param({"1", "2", "3", "4", "5"})
+	public int prog;
+	
+	@Param("1000000")
+	public long children;
+	
+	private byte[] data;
+	
+	@Setup
+	public void generate() {
+		data = DataGen.generate(prog, children, 42, 4);
+	}
+	
+	@Benchmark
+	public Object sequential() {
+		return Pra.load(prog, data);
+	}
+	
+	@Benchmark
+	public Object pipeline() {
+		return Pra.load(prog, data, "--pipeline");
+	}
+}
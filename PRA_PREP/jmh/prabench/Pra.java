@@ -0,0 +1,208 @@
+package prabench;
+
+import java.io.ByteArrayInputStream;
+import java.io.InputStream;
+import java.lang.invoke.MethodHandle;
+import java.lang.invoke.MethodHandles;
+import java.lang.invoke.MethodType;
+import java.nio.charset.StandardCharsets;
+import java.util.ArrayList;
+import java.util.function.Supplier;
+
+// The PRA programs live in the default package, which a named package cannot
+// import and JMH cannot generate code for, so the benchmarks reach them by
+// name through method handles (private lookups, as most of them are
+// package-private; everything shares the unnamed module).
+final class Pra {
+	
+	private static final MethodHandles.Lookup LOOKUP = MethodHandles.lookup();
+	private static final Class<?> FAST_READER = type("FastReader");
+	private static final MethodHandle NEW_READER = find(() ->
+			in(FAST_READER).findConstructor(FAST_READER, MethodType.methodType(void.class, InputStream.class)));
+	private static final MethodHandle FLUSH = find(() ->
+			in(type("Out")).findStatic(type("Out"), "flush", MethodType.methodType(void.class)));
+	// OrdersService.maxQuantityIndex(int[])
+	static final MethodHandle MAX_QUANTITY_INDEX = find(() ->
+			in(type("OrdersService")).findStatic(type("OrdersService"), "maxQuantityIndex",
+					MethodType.methodType(int.class, int[].class)));
+	
+	private Pra() {
+	}
+	
+	// PRA0<prog>.load(new FastReader(System.in), args) with System.in set to data
+	static ArrayList<?> load(int prog, byte[] data, String... args) {
+		InputStream in = System.in;
+		try {
+			System.setIn(new ByteArrayInputStream(data));
+			Class<?> main = type("PRA0" + prog);
+			MethodHandle load = in(main).findStatic(main, "load",
+					MethodType.methodType(ArrayList.class, FAST_READER, String[].class));
+			return (ArrayList<?>) load.invoke(NEW_READER.invoke(System.in), args);
+		} catch (RuntimeException | Error e) {
+			throw e;
+		} catch (Throwable t) {
+			throw new IllegalStateException(t);
+		} finally {
+			System.setIn(in);
+		}
+	}
+	
+	// PRA0<prog>.run(args) with System.in set to data, output flushed
+	static void run(int prog, byte[] data, String... args) {
+		InputStream in = System.in;
+		try {
+			System.setIn(new ByteArrayInputStream(data));
+			Class<?> main = type("PRA0" + prog);
+			in(main).findStatic(main, "run", MethodType.methodType(void.class, String[].class)).invoke(args);
+			FLUSH.invokeExact();
+		} catch (RuntimeException | Error e) {
+			throw e;
+		} catch (Throwable t) {
+			throw new IllegalStateException(t);
+		} finally {
+			System.setIn(in);
+		}
+	}
+	
+	// the query line(s) at the end of a generated input
+	static String[] queries(int prog, byte[] data) {
+		String text = new String(data, StandardCharsets.US_ASCII);
+		String[] lines = text.substring(0, text.length() - 1).split("\n");
+		int k = prog == 1 || prog == 5 ? 1 : 2;
+		String[] q = new String[k];
+		System.arraycopy(lines, lines.length - k, q, 0, k);
+		return q;
+	}
+	
+	// the handwritten query methods of each program: case1/case2 of the
+	// solution classes, the two OrdersService tasks, listByTtype/hardestWorkingFairy
+	static Supplier<Object> query(int prog, int which, ArrayList<?> model, String[] q) {
+		try {
+			MethodHandle mh;
+			switch (prog * 10 + which) {
+			case 11:
+				mh = MethodHandles.insertArguments(staticMethod("solution", "case1", String.class), 1, q[0]);
+				break;
+			case 12:
+				mh = staticMethod("solution", "case2");
+				break;
+			case 21:
+				mh = MethodHandles.insertArguments(staticMethod("solution1", "case1", String.class), 1, q[0]);
+				break;
+			case 22:
+				mh = MethodHandles.insertArguments(staticMethod("solution1", "case2", int.class), 1, Integer.parseInt(q[1]));
+				break;
+			case 31:
+				mh = MethodHandles.insertArguments(staticMethod("solution2", "case1", String.class), 1, q[0]);
+				break;
+			case 32:
+				mh = MethodHandles.insertArguments(staticMethod("solution2", "case2", int.class), 1, Integer.parseInt(q[1]));
+				break;
+			case 41: {
+				Class<?> service = type("OrdersService");
+				mh = in(service).findVirtual(service, "getMaxQuantityProduct",
+						MethodType.methodType(String.class, int.class, ArrayList.class));
+				mh = MethodHandles.insertArguments(mh, 0, newInstance(service), Integer.parseInt(q[0]));
+				break;
+			}
+			case 42: {
+				Class<?> service = type("OrdersService");
+				mh = in(service).findVirtual(service, "getOrdersByProductName",
+						MethodType.methodType(ArrayList.class, String.class, ArrayList.class));
+				mh = MethodHandles.insertArguments(mh, 0, newInstance(service), q[1]);
+				break;
+			}
+			case 51:
+				mh = MethodHandles.insertArguments(staticMethod("PRA05", "listByTtype", String.class), 1, q[0]);
+				break;
+			case 52:
+				mh = staticMethod("PRA05", "hardestWorkingFairy");
+				break;
+			default:
+				throw new IllegalArgumentException("no query " + which + " for PRA0" + prog);
+			}
+			MethodHandle bound = mh.bindTo(model);
+			return () -> {
+				try {
+					return bound.invoke();
+				} catch (RuntimeException | Error e) {
+					throw e;
+				} catch (Throwable t) {
+					// ProductNotFoundException is an answer, not a failure
+					if (!t.getClass().getName().equals("ProductNotFoundException")) {
+						throw new IllegalStateException(t);
+					}
+					return t;
+				}
+			};
+		} catch (RuntimeException e) {
+			throw e;
+		} catch (Throwable e) {
+			throw new IllegalStateException(e);
+		}
+	}
+	
+	// the int[] an int[] getter returns for each element of a model,
+	// e.g. ints(orders, "Order", "getQuantities")
+	static int[][] ints(ArrayList<?> model, String owner, String getter) {
+		try {
+			Class<?> c = type(owner);
+			MethodHandle get = in(c).findVirtual(c, getter, MethodType.methodType(int[].class));
+			int[][] result = new int[model.size()][];
+			for (int i = 0; i < result.length; i++) {
+				result[i] = (int[]) get.invoke(model.get(i));
+			}
+			return result;
+		} catch (RuntimeException | Error e) {
+			throw e;
+		} catch (Throwable t) {
+			throw new IllegalStateException(t);
+		}
+	}
+	
+	static void flushOut() {
+		try {
+			FLUSH.invokeExact();
+		} catch (RuntimeException | Error e) {
+			throw e;
+		} catch (Throwable t) {
+			throw new IllegalStateException(t);
+		}
+	}
+	
+	private static MethodHandle staticMethod(String owner, String name, Class<?>... extra) throws ReflectiveOperationException {
+		Class<?>[] params = new Class<?>[extra.length + 1];
+		params[0] = ArrayList.class;
+		System.arraycopy(extra, 0, params, 1, extra.length);
+		Class<?> c = type(owner);
+		return in(c).findStatic(c, name, MethodType.methodType(void.class, params));
+	}
+	
+	private static Object newInstance(Class<?> c) throws Throwable {
+		return in(c).findConstructor(c, MethodType.methodType(void.class)).invoke();
+	}
+	
+	private static MethodHandles.Lookup in(Class<?> c) throws IllegalAccessException {
+		return MethodHandles.privateLookupIn(c, LOOKUP);
+	}
+	
+	private static Class<?> type(String name) {
+		try {
+			return Class.forName(name);
+		} catch (ClassNotFoundException e) {
+			throw new IllegalStateException(e);
+		}
+	}
+	
+	private interface Lookup {
+		MethodHandle find() throws ReflectiveOperationException;
+	}
+	
+	private static MethodHandle find(Lookup l) {
+		try {
+			return l.find();
+		} catch (ReflectiveOperationException e) {
+			throw new IllegalStateException(e);
+		}
+	}
+}
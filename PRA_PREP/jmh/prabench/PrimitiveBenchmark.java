@@ -0,0 +1,125 @@
+package prabench;
+
+import java.io.OutputStream;
+import java.io.PrintStream;
+import java.util.ArrayList;
+import java.util.concurrent.TimeUnit;
+import java.util.function.Supplier;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.TearDown;
+import org.openjdk.jmh.annotations.Warmup;
+
+// Boxed ArrayList<Integer> vs the int[] the programs store, over loaded PRA04
+// orders and PRA05 fairies: the max-quantity index of every order, and the
+// hardest working fairy. The boxed variants are the loops the programs had
+// before the quantities and daily tasks became int[]. Add -prof gc for the
+// allocation rates.
+//   java -jar target/benchmarks.jar PrimitiveBenchmark -prof gc
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MILLISECONDS)
+@Warmup(iterations = 3)
+@Measurement(iterations = 5)
+@Fork(value = 1, jvmArgsAppend = "-Xmx8g")
+public class PrimitiveBenchmark {
+	
+	@Param("1000000")
+	public long children;
+	
+	private int[][] quantities;
+	private ArrayList<ArrayList<Integer>> boxedQuantities;
+	private ArrayList<ArrayList<Integer>> boxedTasks;
+	private Supplier<Object> hardest;
+	private PrintStream out;
+	
+	@Setup
+	public void load() {
+		ArrayList<?> orders = Pra.load(4, DataGen.generate(4, children, 42, 4));
+		quantities = Pra.ints(orders, "Order", "getQuantities");
+		boxedQuantities = box(quantities);
+		
+		byte[] data = DataGen.generate(5, children, 42, 4);
+		ArrayList<?> fairies = Pra.load(5, data);
+		boxedTasks = box(Pra.ints(fairies, "Fairy", "getDailytasks"));
+		hardest = Pra.query(5, 2, fairies, Pra.queries(5, data));
+		out = System.out;
+		System.setOut(new PrintStream(OutputStream.nullOutputStream()));
+	}
+	
+	@TearDown
+	public void restore() {
+		Pra.flushOut();
+		System.setOut(out);
+	}
+	
+	@Benchmark
+	public long argmaxBoxed() {
+		long s = 0;
+		for (ArrayList<Integer> q : boxedQuantities) {
+			int maxIndex = 0;
+			for (int i = 1; i < q.size(); i++) {
+				if (q.get(i) > q.get(maxIndex)) {
+					maxIndex = i;
+				}
+			}
+			s += maxIndex;
+		}
+		return s;
+	}
+	
+	@Benchmark
+	public long argmaxInts() throws Throwable {
+		long s = 0;
+		for (int[] q : quantities) {
+			s += (int) Pra.MAX_QUANTITY_INDEX.invokeExact(q);
+		}
+		return s;
+	}
+	
+	@Benchmark
+	public int hardestBoxed() {
+		int best = 0;
+		int hardest = -1;
+		for (int k = 0; k < boxedTasks.size(); k++) {
+			int total = 0;
+			for (int t : boxedTasks.get(k)) {
+				total += t;
+			}
+			if (total > best) {
+				best = total;
+				hardest = k;
+			}
+		}
+		return hardest;
+	}
+	
+	// PRA05.hardestWorkingFairy
+	@Benchmark
+	public Object hardestInts() {
+		Object result = hardest.get();
+		Pra.flushOut();
+		return result;
+	}
+	
+	private static ArrayList<ArrayList<Integer>> box(int[][] values) {
+		ArrayList<ArrayList<Integer>> boxed = new ArrayList<>(values.length);
+		for (int[] v : values) {
+			ArrayList<Integer> b = new ArrayList<>(v.length);
+			for (int x : v) {
+				b.add(x);
+			}
+			boxed.add(b);
+		}
+		return boxed;
+	}
+}
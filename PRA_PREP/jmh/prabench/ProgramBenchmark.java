@@ -0,0 +1,96 @@
+package prabench;
+
+import java.io.IOException;
+import java.io.OutputStream;
+import java.io.PrintStream;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.concurrent.TimeUnit;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.TearDown;
+import org.openjdk.jmh.annotations.Warmup;
+
+// A whole PRA run, input bytes to flushed output, in each load mode:
+//   sequential  FastReader parse, then the two queries
+//   pipeline    --pipeline, parser threads as in Pipeline.threads
+//   snapshot    --snapshot of the same model, written once in setup; stdin
+//               then only holds the query lines
+//   columnar    --columnar, the column layouts of PRA01-PRA03:
+//               -p mode=columnar -p prog=1,2,3
+// Output goes to a null stream.
+//   java -jar target/benchmarks.jar ProgramBenchmark -p children=10000000
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MILLISECONDS)
+@Warmup(iterations = 3)
+@Measurement(iterations = 5)
+@Fork(value = 1, jvmArgsAppend = "-Xmx8g")
+public class ProgramBenchmark {
+	
+	@Param({"1", "2", "3", "4", "5"})
+	public int prog;
+	
+	@Param("1000000")
+	public long children;
+	
+	@Param({"sequential", "pipeline", "snapshot"})
+	public String mode;
+	
+	private byte[] data;
+	private String[] args;
+	private Path snapshot;
+	private PrintStream out;
+	
+	@Setup
+	public void generate() throws IOException {
+		data = DataGen.generate(prog, children, 42, 4);
+		switch (mode) {
+		case "sequential":
+			args = new String[0];
+			break;
+		case "pipeline":
+			args = new String[] {"--pipeline"};
+			break;
+		case "columnar":
+			if (prog > 3) {
+				throw new IllegalArgumentException("PRA0" + prog + " has no --columnar");
+			}
+			args = new String[] {"--columnar"};
+			break;
+		case "snapshot":
+			snapshot = Files.createTempFile("prabench", ".snap");
+			Pra.load(prog, data, "--save-snapshot", snapshot.toString());
+			args = new String[] {"--snapshot", snapshot.toString()};
+			data = (String.join("\n", Pra.queries(prog, data)) + "\n").getBytes(StandardCharsets.US_ASCII);
+			break;
+		default:
+			throw new IllegalArgumentException("unknown mode " + mode);
+		}
+		out = System.out;
+		System.setOut(new PrintStream(OutputStream.nullOutputStream()));
+	}
+	
+	@TearDown
+	public void restore() throws IOException {
+		System.setOut(out);
+		if (snapshot != null) {
+			Files.delete(snapshot);
+		}
+	}
+	
+	@Benchmark
+	public void run() {
+		Pra.run(prog, data, args);
+	}
+}
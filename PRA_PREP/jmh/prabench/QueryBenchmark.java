@@ -0,0 +1,74 @@
+package prabench;
+
+import java.io.OutputStream;
+import java.io.PrintStream;
+import java.util.ArrayList;
+import java.util.concurrent.TimeUnit;
+import java.util.function.Supplier;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.TearDown;
+import org.openjdk.jmh.annotations.Warmup;
+
+// The two queries of each PRA program over a loaded model, with the query
+// values from the end of the generated input. Output goes to a null stream.
+//   query1/query2 = solution*.case1/case2, OrdersService
+//   getMaxQuantityProduct/getOrdersByProductName, PRA05 listByTtype/hardestWorkingFairy
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MILLISECONDS)
+@Warmup(iterations = 3)
+@Measurement(iterations = 5)
+@Fork(value = 1, jvmArgsAppend = "-Xmx8g")
+public class QueryBenchmark {
+	
+	@Param({"1", "2", "3", "4", "5"})
+	public int prog;
+	
+	@Param("1000000")
+	public long children;
+	
+	private Supplier<Object> query1;
+	private Supplier<Object> query2;
+	private PrintStream out;
+	
+	@Setup
+	public void load() {
+		byte[] data = DataGen.generate(prog, children, 42, 4);
+		ArrayList<?> model = Pra.load(prog, data);
+		String[] q = Pra.queries(prog, data);
+		query1 = Pra.query(prog, 1, model, q);
+		query2 = Pra.query(prog, 2, model, q);
+		out = System.out;
+		System.setOut(new PrintStream(OutputStream.nullOutputStream()));
+	}
+	
+	@TearDown
+	public void restore() {
+		Pra.flushOut();
+		System.setOut(out);
+	}
+	
+	@Benchmark
+	public Object query1() {
+		Object result = query1.get();
+		Pra.flushOut();
+		return result;
+	}
+	
+	@Benchmark
+	public Object query2() {
+		Object result = query2.get();
+		Pra.flushOut();
+		return result;
+	}
+}
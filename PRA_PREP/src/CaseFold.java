@@ -0,0 +1,27 @@
+// Case folding that agrees with String.equalsIgnoreCase:
+// fold(a).equals(fold(b)) exactly when a.equalsIgnoreCase(b) (for BMP text).
+// Used to key FoldDictionary.
+class CaseFold {
+	
+	static String fold(String s) {
+		int i = 0;
+		while (i < s.length() && fold(s.charAt(i)) == s.charAt(i)) {
+			i++;
+		}
+		if (i == s.length()) {
+			return s;
+		}
+		char[] c = s.toCharArray();
+		for (; i < c.length; i++) {
+			c[i] = fold(c[i]);
+		}
+		return new String(c);
+	}
+	
+	static char fold(char c) {
+		if (c < 128) {
+			return c >= 'A' && c <= 'Z' ? (char) (c + 32) : c;
+		}
+		return Character.toLowerCase(Character.toUpperCase(c));
+	}
+}
@@ -0,0 +1,222 @@
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.UncheckedIOException;
+import java.nio.charset.Charset;
+import java.util.InputMismatchException;
+import java.util.NoSuchElementException;
+
+// Byte-buffered replacement for Scanner, shared by the PRA programs.
+// nextInt/nextDouble skip whitespace and read one token, nextLine returns the
+// rest of the current line - same as Scanner for the PRA input formats.
+class FastReader {
+	
+	private static final double[] POW10 = {
+		1e0, 1e1, 1e2, 1e3, 1e4, 1e5, 1e6, 1e7, 1e8, 1e9, 1e10, 1e11,
+		1e12, 1e13, 1e14, 1e15, 1e16, 1e17, 1e18, 1e19, 1e20, 1e21, 1e22
+	};
+	
+	private static final int BUFFER = 1 << 16;
+	
+	private final InputStream in; // null when reading a fixed byte range
+	private byte[] buf;
+	private int pos;
+	private int len;
+	// holds a token or a line that crosses the end of buf
+	private byte[] tmp = new byte[64];
+	private final Charset cs = Charset.defaultCharset();
+	
+	public FastReader(InputStream in) {
+		this.in = in;
+		this.buf = new byte[BUFFER];
+	}
+	
+	// reads only b[off .. off + len)
+	public FastReader(byte[] b, int off, int len) {
+		this.in = null;
+		this.buf = b;
+		this.pos = off;
+		this.len = off + len;
+	}
+	
+	// puts b[off .. off + n) back in front of the unread input
+	public void unread(byte[] b, int off, int n) {
+		byte[] merged = new byte[n + len - pos];
+		System.arraycopy(b, off, merged, 0, n);
+		System.arraycopy(buf, pos, merged, n, len - pos);
+		buf = merged;
+		pos = 0;
+		len = merged.length;
+	}
+	
+	public int nextInt() {
+		int n = readToken();
+		int i = 0;
+		boolean neg = false;
+		if (n > 0 && (tmp[0] == '-' || tmp[0] == '+')) {
+			neg = tmp[0] == '-';
+			i = 1;
+		}
+		if (i == n) {
+			throw new InputMismatchException(new String(tmp, 0, n, cs));
+		}
+		long v = 0;
+		for (; i < n; i++) {
+			int d = tmp[i] - '0';
+			if (d < 0 || d > 9) {
+				throw new InputMismatchException(new String(tmp, 0, n, cs));
+			}
+			v = v * 10 + d;
+			if (v > 1L + Integer.MAX_VALUE) {
+				throw new InputMismatchException(new String(tmp, 0, n, cs));
+			}
+		}
+		v = neg ? -v : v;
+		if (v > Integer.MAX_VALUE) {
+			throw new InputMismatchException(new String(tmp, 0, n, cs));
+		}
+		return (int) v;
+	}
+	
+	public double nextDouble() {
+		int n = readToken();
+		// fast path: [sign]digits[.digits] with at most 15 significant digits is exact
+		int i = 0;
+		boolean neg = false;
+		if (n > 0 && (tmp[0] == '-' || tmp[0] == '+')) {
+			neg = tmp[0] == '-';
+			i = 1;
+		}
+		long m = 0;
+		int digits = 0;
+		int frac = -1;
+		for (; i < n; i++) {
+			byte b = tmp[i];
+			if (b >= '0' && b <= '9') {
+				m = m * 10 + (b - '0');
+				digits++;
+				if (frac >= 0) {
+					frac++;
+				}
+			} else if (b == '.' && frac < 0) {
+				frac = 0;
+			} else {
+				break;
+			}
+		}
+		if (i == n && digits > 0 && digits <= 15 && frac <= 22) {
+			double v = frac > 0 ? m / POW10[frac] : m;
+			return neg ? -v : v;
+		}
+		String s = new String(tmp, 0, n, cs);
+		try {
+			return Double.parseDouble(s);
+		} catch (NumberFormatException e) {
+			throw new InputMismatchException(s);
+		}
+	}
+	
+	public boolean hasNextLine() {
+		return fill();
+	}
+	
+	public String nextLine() {
+		if (!fill()) {
+			throw new NoSuchElementException("No line found");
+		}
+		int start = pos;
+		while (pos < len) {
+			byte b = buf[pos];
+			if (b == '\n' || b == '\r') {
+				String s = new String(buf, start, pos - start, cs);
+				skipTerminator();
+				return s;
+			}
+			pos++;
+		}
+		// line continues past the buffer
+		int n = 0;
+		n = append(n, start, pos);
+		while (fill()) {
+			byte b = buf[pos];
+			if (b == '\n' || b == '\r') {
+				skipTerminator();
+				break;
+			}
+			if (n == tmp.length) {
+				grow();
+			}
+			tmp[n++] = b;
+			pos++;
+		}
+		return new String(tmp, 0, n, cs);
+	}
+	
+	// reads the next whitespace separated token into tmp, returns its length
+	private int readToken() {
+		while (true) {
+			if (!fill()) {
+				throw new NoSuchElementException();
+			}
+			if (!isSpace(buf[pos])) {
+				break;
+			}
+			pos++;
+		}
+		int n = 0;
+		while (fill() && !isSpace(buf[pos])) {
+			if (n == tmp.length) {
+				grow();
+			}
+			tmp[n++] = buf[pos++];
+		}
+		return n;
+	}
+	
+	private void skipTerminator() {
+		if (buf[pos++] == '\r' && fill() && buf[pos] == '\n') {
+			pos++;
+		}
+	}
+	
+	private int append(int n, int from, int to) {
+		while (n + (to - from) > tmp.length) {
+			grow();
+		}
+		System.arraycopy(buf, from, tmp, n, to - from);
+		return n + (to - from);
+	}
+	
+	private void grow() {
+		byte[] bigger = new byte[tmp.length * 2];
+		System.arraycopy(tmp, 0, bigger, 0, tmp.length);
+		tmp = bigger;
+	}
+	
+	// true if at least one byte is available at pos
+	private boolean fill() {
+		if (pos < len) {
+			return true;
+		}
+		if (in == null) {
+			return false;
+		}
+		if (buf.length < BUFFER) {
+			buf = new byte[BUFFER]; // after unread
+		}
+		try {
+			len = in.read(buf, 0, buf.length);
+		} catch (IOException e) {
+			throw new UncheckedIOException(e);
+		}
+		pos = 0;
+		if (len <= 0) {
+			len = 0;
+			return false;
+		}
+		return true;
+	}
+	
+	private static boolean isSpace(byte b) {
+		return b == ' ' || b == '\n' || b == '\r' || b == '\t' || b == '\f' || b == 0x0B || (b >= 0x1C && b <= 0x1F);
+	}
+}
@@ -0,0 +1,78 @@
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.atomic.AtomicInteger;
+
+// Process-wide dictionary of case-folded strings -> dense int keys, so
+// key(a) == key(b) exactly when a.equalsIgnoreCase(b) (see CaseFold).
+// The model classes take the key of the field they are filtered on when
+// they are built, and each case-insensitive filter becomes an int compare.
+// Thread-safe: records may be built on several threads.
+// Records take key(), which adds the value; queries take find(), which
+// never does, so a long run of queries cannot grow the dictionary. The
+// --stream modes key their one query before any record is read, so they
+// use key() as well.
+class FoldDictionary {
+	
+	static final int NULL_KEY = -1;
+	// find() of a value no record has; equals no key
+	static final int MISSING = -2;
+	
+	// raw spelling -> key, so repeated values skip the folding
+	private static final ConcurrentHashMap<String, Integer> raw = new ConcurrentHashMap<>();
+	private static final ConcurrentHashMap<String, Integer> folded = new ConcurrentHashMap<>();
+	private static final AtomicInteger next = new AtomicInteger();
+	
+	// recent query spellings that are not in raw, direct-mapped by hash,
+	// so repeated queries (misses included) skip the folding
+	private static final Recent[] recent = new Recent[256];
+	
+	private static final class Recent {
+		final String s;
+		final int key;
+		final long size; // folded.mappingCount() when looked up; a MISSING is stale once it grows
+		
+		Recent(String s, int key, long size) {
+			this.s = s;
+			this.key = key;
+			this.size = size;
+		}
+	}
+	
+	static int key(String s) {
+		if (s == null) {
+			return NULL_KEY;
+		}
+		Integer k = raw.get(s);
+		if (k == null) {
+			k = folded.computeIfAbsent(CaseFold.fold(s), f -> next.getAndIncrement());
+			raw.putIfAbsent(s, k);
+		}
+		return k;
+	}
+	
+	// Key of s if some record has it (ignoring case), else MISSING.
+	static int find(String s) {
+		if (s == null) {
+			return NULL_KEY;
+		}
+		Integer k = raw.get(s);
+		if (k != null) {
+			return k;
+		}
+		// read before the lookup: a value added after this changes the count
+		long size = folded.mappingCount();
+		int slot = s.hashCode() & (recent.length - 1);
+		Recent r = recent[slot];
+		if (r != null && r.s.equals(s) && (r.key != MISSING || r.size == size)) {
+			return r.key;
+		}
+		k = folded.get(CaseFold.fold(s));
+		int key = k == null ? MISSING : k;
+		recent[slot] = new Recent(s, key, size);
+		return key;
+	}
+	
+	// number of distinct folded values
+	static int size() {
+		return folded.size();
+	}
+}
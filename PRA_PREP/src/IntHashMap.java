@@ -0,0 +1,81 @@
+// Open addressing int -> V map, so int keys are not boxed.
+// Null values are not allowed (a null slot means empty).
+class IntHashMap<V> {
+	
+	private int[] keys;
+	private Object[] vals;
+	private int size;
+	
+	public IntHashMap() {
+		this(16);
+	}
+	
+	public IntHashMap(int expected) {
+		int cap = Integer.highestOneBit(Math.max(expected, 8) * 2 - 1) * 2;
+		keys = new int[cap];
+		vals = new Object[cap];
+	}
+	
+	@SuppressWarnings("unchecked")
+	public V get(int key) {
+		int mask = keys.length - 1;
+		for (int i = hash(key) & mask; vals[i] != null; i = (i + 1) & mask) {
+			if (keys[i] == key) {
+				return (V) vals[i];
+			}
+		}
+		return null;
+	}
+	
+	public boolean containsKey(int key) {
+		return get(key) != null;
+	}
+	
+	public void put(int key, V value) {
+		if (value == null) {
+			throw new NullPointerException();
+		}
+		if ((size + 1) * 2 > keys.length) {
+			resize();
+		}
+		int mask = keys.length - 1;
+		int i = hash(key) & mask;
+		while (vals[i] != null) {
+			if (keys[i] == key) {
+				vals[i] = value;
+				return;
+			}
+			i = (i + 1) & mask;
+		}
+		keys[i] = key;
+		vals[i] = value;
+		size++;
+	}
+	
+	public int size() {
+		return size;
+	}
+	
+	private void resize() {
+		int[] oldKeys = keys;
+		Object[] oldVals = vals;
+		keys = new int[oldKeys.length * 2];
+		vals = new Object[oldKeys.length * 2];
+		int mask = keys.length - 1;
+		for (int j = 0; j < oldKeys.length; j++) {
+			if (oldVals[j] != null) {
+				int i = hash(oldKeys[j]) & mask;
+				while (vals[i] != null) {
+					i = (i + 1) & mask;
+				}
+				keys[i] = oldKeys[j];
+				vals[i] = oldVals[j];
+			}
+		}
+	}
+	
+	private static int hash(int key) {
+		int h = key * 0x9E3779B9;
+		return h ^ (h >>> 16);
+	}
+}
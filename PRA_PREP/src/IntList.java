@@ -0,0 +1,38 @@
+// Growable int array, used while parsing so counts are not stored as boxed Integers
+class IntList {
+	
+	private int[] a;
+	private int size;
+	
+	public IntList() {
+		this(8);
+	}
+	
+	public IntList(int capacity) {
+		a = new int[Math.max(capacity, 0)];
+	}
+	
+	public void add(int v) {
+		if (size == a.length) {
+			int[] bigger = new int[Math.max(8, size * 2)];
+			System.arraycopy(a, 0, bigger, 0, size);
+			a = bigger;
+		}
+		a[size++] = v;
+	}
+	
+	public int get(int i) {
+		return a[i];
+	}
+	
+	public int size() {
+		return size;
+	}
+	
+	// exact-length copy
+	public int[] toArray() {
+		int[] r = new int[size];
+		System.arraycopy(a, 0, r, 0, size);
+		return r;
+	}
+}
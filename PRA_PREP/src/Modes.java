@@ -0,0 +1,23 @@
+// Command line flags shared by the PRA mains, e.g.
+//   java PRA01 --snapshot data.bin --multi
+class Modes {
+	
+	static boolean has(String[] args, String flag) {
+		for (String a : args) {
+			if (a.equals(flag)) {
+				return true;
+			}
+		}
+		return false;
+	}
+	
+	// the argument following flag, or null
+	static String value(String[] args, String flag) {
+		for (int i = 0; i + 1 < args.length; i++) {
+			if (args[i].equals(flag)) {
+				return args[i + 1];
+			}
+		}
+		return null;
+	}
+}
@@ -0,0 +1,90 @@
+import java.nio.ByteBuffer;
+import java.nio.CharBuffer;
+import java.nio.charset.Charset;
+import java.nio.charset.CharsetEncoder;
+import java.nio.charset.CoderResult;
+import java.nio.charset.CodingErrorAction;
+
+// Buffered stdout for the PRA programs. println appends to one buffer that is
+// written out in large chunks (at FLUSH_AT chars and on flush()),
+// instead of a synchronized, autoflushing System.out write per line.
+// The chunks are encoded into a reused byte buffer with the charset (and
+// replacement behaviour) System.out itself uses, and written to System.out
+// as bytes, so the output is the same and a flush allocates nothing.
+// Not thread-safe: only a program's main thread may print. Each PRA main
+// calls flush() in a finally block; the shutdown hook is only a safety net
+// for output left behind if a program exits some other way.
+class Out {
+	
+	static final int FLUSH_AT = 1 << 16;
+	
+	private static final String NL = System.lineSeparator();
+	private static final StringBuilder buf = new StringBuilder(FLUSH_AT + 256);
+	private static final CharsetEncoder encoder = stdoutCharset().newEncoder()
+			.onMalformedInput(CodingErrorAction.REPLACE)
+			.onUnmappableCharacter(CodingErrorAction.REPLACE);
+	private static final ByteBuffer bytes = ByteBuffer.allocate(FLUSH_AT);
+	private static char[] chars = new char[FLUSH_AT + 256];
+	private static CharBuffer in = CharBuffer.wrap(chars);
+	
+	static {
+		// runs once main has returned or System.exit was called, so it cannot race main's prints
+		Runtime.getRuntime().addShutdownHook(new Thread(Out::flush));
+	}
+	
+	static void println(String s) {
+		buf.append(s).append(NL);
+		if (buf.length() >= FLUSH_AT) {
+			flush();
+		}
+	}
+	
+	static void println(long v) {
+		buf.append(v).append(NL);
+		if (buf.length() >= FLUSH_AT) {
+			flush();
+		}
+	}
+	
+	// println(prefix + v) without building the string
+	static void println(String prefix, double v) {
+		buf.append(prefix).append(v).append(NL);
+		if (buf.length() >= FLUSH_AT) {
+			flush();
+		}
+	}
+	
+	static void flush() {
+		int n = buf.length();
+		if (n > 0) {
+			if (chars.length < n) {
+				chars = new char[n];
+				in = CharBuffer.wrap(chars);
+			}
+			buf.getChars(0, n, chars, 0);
+			in.clear().limit(n);
+			// one encoder for the whole run, like System.out's own
+			CoderResult cr;
+			do {
+				cr = encoder.encode(in, bytes, false);
+				System.out.write(bytes.array(), 0, bytes.position());
+				bytes.clear();
+			} while (cr.isOverflow());
+			// a trailing half of a surrogate pair waits for the next chunk
+			buf.setLength(0);
+			buf.append(chars, in.position(), in.remaining());
+		}
+		System.out.flush();
+	}
+	
+	// System.out is built with stdout.encoding (sun.stdout.encoding before
+	// JDK 19) when set, else the default charset
+	private static Charset stdoutCharset() {
+		String enc = System.getProperty("stdout.encoding", System.getProperty("sun.stdout.encoding"));
+		try {
+			return enc != null ? Charset.forName(enc) : Charset.defaultCharset();
+		} catch (IllegalArgumentException e) {
+			return Charset.defaultCharset();
+		}
+	}
+}
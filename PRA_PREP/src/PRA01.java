@@ -31,6 +31,8 @@ channel
 
 
 
+import java.nio.file.Path;
+import java.nio.file.Paths;
 import java.util.*;
 
 class customer{
@@ -93,12 +95,14 @@ class customer{
 class perfume{
 	private int pid;
 	private String brand;
+	private int brandKey; // FoldDictionary key of brand
 	private double price;
 	private String fregrance;
 	
 	public perfume(int a,String b,double c,String d) {
 		this.pid=a;
 		this.brand=b;
+		this.brandKey=FoldDictionary.key(b);
 		this.price=c;
 		this.fregrance=d;
 		
@@ -118,6 +122,11 @@ class perfume{
 
 	public void setBrand(String brand) {
 		this.brand = brand;
+		this.brandKey = FoldDictionary.key(brand);
+	}
+
+	public int getBrandKey() {
+		return brandKey;
 	}
 
 	public double getPrice() {
@@ -142,78 +151,274 @@ class solution{
 	
 	static void case1(ArrayList<customer> cu, String brand) {
 		boolean flag = false;
+		int key = FoldDictionary.find(brand);
 		for(customer c:cu) {
 			ArrayList<perfume> p= c.getP();
 			
 			for(perfume pr: p) {
-				if(pr.getBrand().equalsIgnoreCase(brand)) {
-					System.out.println(c.getName());
+				if(pr.getBrandKey()==key) {
+					Out.println(c.getName());
 					flag=true;
 				}
 			}
 			
 		}
 		if(flag==false) {
-			System.out.println("No Matching Customer found");
+			Out.println("No Matching Customer found");
 		}
 	}
 	
 	static void case2(ArrayList<customer> cu) {
-		double sum=0.0;
+		// compensated sum, split across cores for big inputs
+		double sum=ParallelSum.sumCompensated(cu, customer::getP, perfume::getPrice);
+		
+		Out.println("Total Expenditure on perfume:$",sum);
+	}
+}
+
+// brand key -> distinct customers owning that brand, in input order
+class BrandIndex{
+	private IntHashMap<ArrayList<customer>> index = new IntHashMap<>(16);
+	
+	public BrandIndex(ArrayList<customer> cu) {
 		for(customer c:cu) {
-			ArrayList<perfume> p= c.getP();
-			
-			for(perfume pr: p) {
-				sum += pr.getPrice();
+			for(perfume pr: c.getP()) {
+				ArrayList<customer> l = index.get(pr.getBrandKey());
+				if(l==null) {
+					l = new ArrayList<>();
+					index.put(pr.getBrandKey(), l);
+				}
+				// customers are added in order, so a repeat can only be the last one
+				if(l.isEmpty() || l.get(l.size()-1)!=c) {
+					l.add(c);
+				}
 			}
-			
-			
 		}
+	}
+	
+	public ArrayList<customer> find(String brand) {
+		ArrayList<customer> l = index.get(FoldDictionary.find(brand));
+		return l==null ? new ArrayList<>() : l;
+	}
+	
+	// like solution.case1, but each customer is printed once
+	public void case1(String brand) {
+		ArrayList<customer> l = find(brand);
+		for(customer c:l) {
+			Out.println(c.getName());
+		}
+		if(l.isEmpty()) {
+			Out.println("No Matching Customer found");
+		}
+	}
+}
+
+// Columnar copy of the customers: perfumes of customer i are rows
+// offsets[i] .. offsets[i+1] of flat price / brand columns. Brands are
+// FoldDictionary keys, names are dictionary ids per customer.
+class CustomerColumns{
+	final int[] offsets;
+	final double[] price;
+	final int[] brand;
+	final int[] name;
+	final StringDictionary names = new StringDictionary();
+	
+	public CustomerColumns(ArrayList<customer> cu) {
+		offsets = new int[cu.size()+1];
+		for(int i=0; i<cu.size(); i++) {
+			offsets[i+1] = offsets[i]+cu.get(i).getP().size();
+		}
+		price = new double[offsets[cu.size()]];
+		brand = new int[offsets[cu.size()]];
+		name = new int[cu.size()];
+		for(int i=0; i<cu.size(); i++) {
+			customer c = cu.get(i);
+			name[i] = names.intern(c.getName());
+			int j = offsets[i];
+			for(perfume pr: c.getP()) {
+				price[j] = pr.getPrice();
+				brand[j] = pr.getBrandKey();
+				j++;
+			}
+		}
+	}
+	
+	// same output as solution.case1
+	public void case1(String brand) {
+		int id = FoldDictionary.find(brand);
+		boolean flag = false;
+		for(int i=0; i<name.length; i++) {
+			for(int j=offsets[i]; j<offsets[i+1]; j++) {
+				if(this.brand[j]==id) {
+					Out.println(names.get(name[i]));
+					flag=true;
+				}
+			}
+		}
+		if(flag==false) {
+			Out.println("No Matching Customer found");
+		}
+	}
+	
+	// same output as solution.case2
+	public void case2() {
+		double sum=ParallelSum.sumCompensated(offsets, price);
 		
-		System.out.println("Total Expenditure on perfume:$"+sum);
+		Out.println("Total Expenditure on perfume:$",sum);
 	}
 }
 
+// java PRA01 --multi : after the customers, every remaining line is a brand query
+// java PRA01 --stream <brand> : answers while parsing, one customer in memory at a time
+// java PRA01 --pipeline [threads] : parses the customers on worker threads, see Pipeline
+// java PRA01 --columnar : answers from CustomerColumns instead of the object graph
+// java PRA01 --save-snapshot <file> / --snapshot <file> : see Snapshot; combine with --multi
 public class PRA01 {
 
 	public static void main(String[] args) {
+		try {
+			run(args);
+		} finally {
+			Out.flush();
+		}
+	}
+	
+	static void run(String[] args) {
 		
-         Scanner sc = new Scanner(System.in);
-         int n=sc.nextInt();sc.nextLine();
+         FastReader sc = new FastReader(System.in);
          
-         ArrayList<customer> cus=new ArrayList<>();
+         if(args.length>1 && args[0].equals("--stream")) {
+        	 stream(sc, args[1]);
+        	 return;
+         }
+         
+         ArrayList<customer> cus=load(sc, args);
          
-         for(int i=0; i<n; i++) {
-        	 int a=sc.nextInt();sc.nextLine();
-        	 String b=sc.nextLine();
-        	 int c =sc.nextInt();sc.nextLine();
-        	 String d=sc.nextLine();
-        	 
-        	 int nop= sc.nextInt();sc.nextLine();
-        	 
-        	 ArrayList<perfume> per= new ArrayList<>();
-        	 for(int j=0; j<nop; j++) {
-        		 int a1=sc.nextInt();sc.nextLine();
-        		 String b1=sc.nextLine();
-        		 double c1=sc.nextDouble();sc.nextLine();
-        		 String d1=sc.nextLine();
-        		 
-        		 per.add(new perfume(a1,b1,c1,d1));
+         if(Modes.has(args, "--multi")) {
+        	 BrandIndex idx= new BrandIndex(cus);
+        	 while(sc.hasNextLine()) {
+        		 idx.case1(sc.nextLine());
         	 }
-        	 
-        	 cus.add(new customer(a,b,c,d,per));
-        	 
-        	 
+        	 solution.case2(cus);
+        	 return;
          }
          
-         solution s= new solution();
-         
          String ip1= sc.nextLine();
          
-         s.case1(cus,ip1);
-         s.case2(cus);
+         if(Modes.has(args, "--columnar")) {
+        	 CustomerColumns col= new CustomerColumns(cus);
+        	 col.case1(ip1);
+        	 col.case2();
+        	 return;
+         }
+         
+         solution.case1(cus,ip1);
+         solution.case2(cus);
          
          
 	}
+	
+	static ArrayList<customer> load(FastReader sc, String[] args) {
+		String snapshot=Modes.value(args, "--snapshot");
+		if(snapshot!=null) {
+			return readSnapshot(Paths.get(snapshot));
+		}
+		
+		ArrayList<customer> cus;
+		if(Modes.has(args, "--pipeline")) {
+			cus=Pipeline.load(sc, System.in, Pipeline.PRA01, PRA01::readCustomer, Pipeline.threads(args));
+		}
+		else {
+			int n=sc.nextInt();sc.nextLine();
+			cus=new ArrayList<>();
+			for(int i=0; i<n; i++) {
+				cus.add(readCustomer(sc));
+			}
+		}
+		
+		String save=Modes.value(args, "--save-snapshot");
+		if(save!=null) {
+			saveSnapshot(Paths.get(save), cus);
+		}
+		return cus;
+	}
+	
+	// --save-snapshot: the loaded customers in Snapshot's format (kind 1)
+	static void saveSnapshot(Path file, ArrayList<customer> cus) {
+		try (Snapshot.Writer w = new Snapshot.Writer(file, 1)) {
+			w.i(cus.size());
+			for (customer c : cus) {
+				w.i(c.getCid()); w.s(c.getName()); w.i(c.getAge()); w.s(c.getGender());
+				w.i(c.getP().size());
+				for (perfume p : c.getP()) {
+					w.i(p.getPid()); w.s(p.getBrand()); w.d(p.getPrice()); w.s(p.getFregrance());
+				}
+			}
+			w.finish();
+		}
+	}
+	
+	static ArrayList<customer> readSnapshot(Path file) {
+		try (Snapshot.Reader r = new Snapshot.Reader(file, 1)) {
+			int n = r.i();
+			ArrayList<customer> cus = new ArrayList<>(n);
+			for (int i = 0; i < n; i++) {
+				int cid = r.i(); String name = r.s(); int age = r.i(); String gender = r.s();
+				int nop = r.i();
+				ArrayList<perfume> per = new ArrayList<>(nop);
+				for (int j = 0; j < nop; j++) {
+					per.add(new perfume(r.i(), r.s(), r.d(), r.s()));
+				}
+				cus.add(new customer(cid, name, age, gender, per));
+			}
+			return cus;
+		}
+	}
+	
+	static customer readCustomer(FastReader sc) {
+		int a=sc.nextInt();sc.nextLine();
+		String b=sc.nextLine();
+		int c =sc.nextInt();sc.nextLine();
+		String d=sc.nextLine();
+		
+		int nop= sc.nextInt();sc.nextLine();
+		
+		ArrayList<perfume> per= new ArrayList<>();
+		for(int j=0; j<nop; j++) {
+			int a1=sc.nextInt();sc.nextLine();
+			String b1=sc.nextLine();
+			double c1=sc.nextDouble();sc.nextLine();
+			String d1=sc.nextLine();
+			
+			per.add(new perfume(a1,b1,c1,d1));
+		}
+		
+		return new customer(a,b,c,d,per);
+	}
+	
+	// case1 + case2 in one pass; same output as the in-memory run
+	static void stream(FastReader sc, String brand) {
+		int n=sc.nextInt();sc.nextLine();
+		boolean flag=false;
+		int key=FoldDictionary.key(brand);
+		ParallelSum.Compensated total= new ParallelSum.Compensated();
+		
+		for(int i=0; i<n; i++) {
+			customer c=readCustomer(sc);
+			for(perfume pr: c.getP()) {
+				if(pr.getBrandKey()==key) {
+					Out.println(c.getName());
+					flag=true;
+				}
+				total.add(pr.getPrice());
+			}
+			total.endParent();
+		}
+		
+		if(flag==false) {
+			Out.println("No Matching Customer found");
+		}
+		Out.println("Total Expenditure on perfume:$",total.sum());
+	}
 
 }
@@ -28,6 +28,8 @@ zeeta
 3000
  */
 
+import java.nio.file.Path;
+import java.nio.file.Paths;
 import java.util.*;
 
 class customer1{
@@ -80,11 +82,13 @@ class customer1{
 class cycle{
 	private int cyid;
 	private String cyname;
+	private int cynameKey; // FoldDictionary key of cyname
 	private int price;
 	
 	public cycle(int a, String b,int c) {
 		this.cyid=a;
 		this.cyname=b;
+		this.cynameKey=FoldDictionary.key(b);
 		this.price=c;
 	}
 
@@ -102,6 +106,11 @@ class cycle{
 
 	public void setCyname(String cyname) {
 		this.cyname = cyname;
+		this.cynameKey = FoldDictionary.key(cyname);
+	}
+
+	public int getCynameKey() {
+		return cynameKey;
 	}
 
 	public int getPrice() {
@@ -116,34 +125,18 @@ class cycle{
 class solution1{
 	
 	static void case1(ArrayList<customer1> c,String cname) {
-		int sum=0;
-		for(customer1 cs: c) {
-			ArrayList<cycle> cy=cs.getCy();
-			
-			for(cycle cyc : cy) {
-				if(cyc.getCyname().equalsIgnoreCase(cname)) {
-					try {
-						if(cyc.getPrice()<0) {
-							throw new PriceisNegativeException();
-						}
-						else {
-							sum+=cyc.getPrice();
-						}
-						
-					} catch (PriceisNegativeException e) {
-						System.out.println(e.getMessage());
-						return;
-					}
-				}
-			}
-			
-			
+		// long sum, split across cores for big inputs; stops at the first negative price
+		long sum=ParallelSum.sumChecked(c, customer1::getCy,
+				cycle::getCynameKey, FoldDictionary.find(cname), cycle::getPrice);
+		if(sum==ParallelSum.NEGATIVE) {
+			Out.println(PRA02.NEGATIVE_PRICE);
+			return;
 		}
 		if(sum>0) {
-			System.out.println(sum);
+			Out.println(sum);
 		}
 		else {
-			System.out.println("No cycle found with mentioned name");
+			Out.println("No cycle found with mentioned name");
 		}
 	}
 	
@@ -155,7 +148,7 @@ class solution1{
 			
 			for(cycle cyc : cy) {
 				if(cyc.getPrice()>price) {
-					System.out.println(cs.getName());
+					Out.println(cs.getName());
 					flag=true;
 				}
 			}
@@ -163,7 +156,7 @@ class solution1{
 			
 		}
 		if(flag==false) {
-			System.out.println("No matching customer found");
+			Out.println("No matching customer found");
 		}
 	}
 	
@@ -171,48 +164,224 @@ class solution1{
 	
 }
 
-class PriceisNegativeException extends Exception{
-	public PriceisNegativeException() {
-		super("Invalid Price: Price cannot be negative");
+// Columnar copy of the customers: cycles of customer i are rows
+// offsets[i] .. offsets[i+1] of flat price / cycle name columns. Cycle names
+// are FoldDictionary keys, customer names are dictionary ids.
+class CycleColumns{
+	final int[] offsets;
+	final int[] price;
+	final int[] cyname;
+	final int[] name;
+	final StringDictionary names = new StringDictionary();
+	
+	public CycleColumns(ArrayList<customer1> c) {
+		offsets = new int[c.size()+1];
+		for(int i=0; i<c.size(); i++) {
+			offsets[i+1] = offsets[i]+c.get(i).getCy().size();
+		}
+		price = new int[offsets[c.size()]];
+		cyname = new int[offsets[c.size()]];
+		name = new int[c.size()];
+		for(int i=0; i<c.size(); i++) {
+			customer1 cs = c.get(i);
+			name[i] = names.intern(cs.getName());
+			int j = offsets[i];
+			for(cycle cyc : cs.getCy()) {
+				price[j] = cyc.getPrice();
+				cyname[j] = cyc.getCynameKey();
+				j++;
+			}
+		}
+	}
+	
+	// same output as solution1.case1
+	public void case1(String cname) {
+		long sum=ParallelSum.sumChecked(cyname, FoldDictionary.find(cname), price);
+		if(sum==ParallelSum.NEGATIVE) {
+			Out.println(PRA02.NEGATIVE_PRICE);
+			return;
+		}
+		if(sum>0) {
+			Out.println(sum);
+		}
+		else {
+			Out.println("No cycle found with mentioned name");
+		}
+	}
+	
+	// same output as solution1.case2
+	public void case2(int price) {
+		boolean flag=false;
+		for(int i=0; i<name.length; i++) {
+			for(int j=offsets[i]; j<offsets[i+1]; j++) {
+				if(this.price[j]>price) {
+					Out.println(names.get(name[i]));
+					flag=true;
+				}
+			}
+		}
+		if(flag==false) {
+			Out.println("No matching customer found");
+		}
 	}
 }
 
-
+// java PRA02 --stream <cycle name> <price> : answers while parsing, one customer in memory at a time
+// java PRA02 --pipeline [threads] : parses the customers on worker threads, see Pipeline
+// java PRA02 --columnar : answers from CycleColumns instead of the object graph
+// java PRA02 --save-snapshot <file> / --snapshot <file> : see Snapshot
 public class PRA02 {
+	
+	static final String NEGATIVE_PRICE = "Invalid Price: Price cannot be negative";
 
 	public static void main(String[] args) {
+		try {
+			run(args);
+		} finally {
+			Out.flush();
+		}
+	}
+	
+	static void run(String[] args) {
 		
-         Scanner sc = new Scanner(System.in);
+         FastReader sc = new FastReader(System.in);
          
-         int n=sc.nextInt();sc.nextLine();
-         ArrayList<customer1> cu = new ArrayList<>();
-         
-         for(int i=0; i<n; i++) {
-        	 int a=sc.nextInt();sc.nextLine();
-        	 String b=sc.nextLine();
-        	 int c=sc.nextInt();sc.nextLine();
-        	 
-        	 ArrayList<cycle> cy = new ArrayList<>();
-        	 for(int j=0; j<c; j++) {
-        		 int a1=sc.nextInt();sc.nextLine();
-        		 String b1=sc.nextLine();
-        		 int c1=sc.nextInt();sc.nextLine();
-        		 
-        		 cy.add(new cycle(a1,b1,c1));
-        	 }
-        	 
-        	 cu.add(new customer1(a,b,c,cy));
+         if(args.length>2 && args[0].equals("--stream")) {
+        	 stream(sc, args[1], Integer.parseInt(args[2]));
+        	 return;
          }
-         solution1 s = new solution1();
          
+         ArrayList<customer1> cu = load(sc, args);
          String ip1=sc.nextLine();
          
          
          
          int ip2=sc.nextInt();
-         s.case1(cu, ip1);
-         s.case2(cu, ip2);
+         if(Modes.has(args, "--columnar")) {
+        	 CycleColumns col= new CycleColumns(cu);
+        	 col.case1(ip1);
+        	 col.case2(ip2);
+        	 return;
+         }
+         solution1.case1(cu, ip1);
+         solution1.case2(cu, ip2);
          
 	}
+	
+	static ArrayList<customer1> load(FastReader sc, String[] args) {
+		String snapshot=Modes.value(args, "--snapshot");
+		if(snapshot!=null) {
+			return readSnapshot(Paths.get(snapshot));
+		}
+		
+		ArrayList<customer1> cu;
+		if(Modes.has(args, "--pipeline")) {
+			cu=Pipeline.load(sc, System.in, Pipeline.PRA02, PRA02::readCustomer, Pipeline.threads(args));
+		}
+		else {
+			int n=sc.nextInt();sc.nextLine();
+			cu = new ArrayList<>();
+			for(int i=0; i<n; i++) {
+				cu.add(readCustomer(sc));
+			}
+		}
+		
+		String save=Modes.value(args, "--save-snapshot");
+		if(save!=null) {
+			saveSnapshot(Paths.get(save), cu);
+		}
+		return cu;
+	}
+	
+	// --save-snapshot: the loaded customers in Snapshot's format (kind 2)
+	static void saveSnapshot(Path file, ArrayList<customer1> cus) {
+		try (Snapshot.Writer w = new Snapshot.Writer(file, 2)) {
+			w.i(cus.size());
+			for (customer1 c : cus) {
+				w.i(c.getCid()); w.s(c.getName()); w.i(c.getNoc());
+				w.i(c.getCy().size());
+				for (cycle cy : c.getCy()) {
+					w.i(cy.getCyid()); w.s(cy.getCyname()); w.i(cy.getPrice());
+				}
+			}
+			w.finish();
+		}
+	}
+	
+	static ArrayList<customer1> readSnapshot(Path file) {
+		try (Snapshot.Reader r = new Snapshot.Reader(file, 2)) {
+			int n = r.i();
+			ArrayList<customer1> cus = new ArrayList<>(n);
+			for (int i = 0; i < n; i++) {
+				int cid = r.i(); String name = r.s(); int noc = r.i();
+				int k = r.i();
+				ArrayList<cycle> cy = new ArrayList<>(k);
+				for (int j = 0; j < k; j++) {
+					cy.add(new cycle(r.i(), r.s(), r.i()));
+				}
+				cus.add(new customer1(cid, name, noc, cy));
+			}
+			return cus;
+		}
+	}
+	
+	static customer1 readCustomer(FastReader sc) {
+		int a=sc.nextInt();sc.nextLine();
+		String b=sc.nextLine();
+		int c=sc.nextInt();sc.nextLine();
+		
+		ArrayList<cycle> cy = new ArrayList<>();
+		for(int j=0; j<c; j++) {
+			int a1=sc.nextInt();sc.nextLine();
+			String b1=sc.nextLine();
+			int c1=sc.nextInt();sc.nextLine();
+			
+			cy.add(new cycle(a1,b1,c1));
+		}
+		
+		return new customer1(a,b,c,cy);
+	}
+	
+	// case1 + case2 in one pass; only the case2 names are kept until the end
+	static void stream(FastReader sc, String cname, int price) {
+		int n=sc.nextInt();sc.nextLine();
+		long sum=0;
+		boolean negative=false;
+		ArrayList<String> names= new ArrayList<>();
+		int key=FoldDictionary.key(cname);
+		
+		for(int i=0; i<n; i++) {
+			customer1 cs=readCustomer(sc);
+			for(cycle cyc : cs.getCy()) {
+				if(!negative && cyc.getCynameKey()==key) {
+					if(cyc.getPrice()<0) {
+						negative=true;
+					}
+					else {
+						sum+=cyc.getPrice();
+					}
+				}
+				if(cyc.getPrice()>price) {
+					names.add(cs.getName());
+				}
+			}
+		}
+		
+		if(negative) {
+			Out.println(PRA02.NEGATIVE_PRICE);
+		}
+		else if(sum>0) {
+			Out.println(sum);
+		}
+		else {
+			Out.println("No cycle found with mentioned name");
+		}
+		for(String s : names) {
+			Out.println(s);
+		}
+		if(names.isEmpty()) {
+			Out.println("No matching customer found");
+		}
+	}
 
 }
@@ -29,6 +29,8 @@ sagar
 */
 
 
+import java.nio.file.Path;
+import java.nio.file.Paths;
 import java.util.*;
 
 
@@ -81,11 +83,13 @@ class unit{
 class employee{
 	private int eid;
 	private String ename;
+	private int enameKey; // FoldDictionary key of ename
 	private int salary;
 	
 	public employee(int a, String b, int c) {
 		this.eid=a;
 		this.ename=b;
+		this.enameKey=FoldDictionary.key(b);
 		this.salary=c;
 	}
 
@@ -103,6 +107,11 @@ class employee{
 
 	public void setEname(String ename) {
 		this.ename = ename;
+		this.enameKey = FoldDictionary.key(ename);
+	}
+
+	public int getEnameKey() {
+		return enameKey;
 	}
 
 	public int getSalary() {
@@ -117,109 +126,347 @@ class employee{
 class solution2{
 	
 	static void case1(ArrayList<unit> u, String name) {
-		int sum=0;
-		
-		for(unit un : u) {
-			ArrayList<employee> emp=un.getEmp();
-			
-			for(employee em: emp) {
-				if(em.getEname().equalsIgnoreCase(name)) {
-					try {
-						if(em.getSalary()<0) {
-							throw new SalaryisNegativeException();
-						}
-						else {
-							sum+=em.getSalary();
-						}
-					} catch (SalaryisNegativeException e) {
-						System.out.println(e.getMessage());
-						return;
-					}
-				}
-			}
-			
-			
+		// long sum, split across cores for big inputs; stops at the first negative salary
+		long sum=ParallelSum.sumChecked(u, unit::getEmp,
+				employee::getEnameKey, FoldDictionary.find(name), employee::getSalary);
+		if(sum==ParallelSum.NEGATIVE) {
+			Out.println(PRA03.NEGATIVE_SALARY);
+			return;
 		}
 		if(sum>0) {
-			System.out.println(sum);
+			Out.println(sum);
 		}
 		else {
-			System.out.println("No employee found with mention name");
+			Out.println("No employee found with mention name");
 		}
 	}
 	
 	
 	static void case2(ArrayList<unit> un, int salary) {
 		
-		ArrayList<String> s= new ArrayList<>();
+		// units are printed as they match, so no list of names is built
+		boolean found=false;
 		
 		for(unit u : un) {
 			ArrayList<employee> e=u.getEmp();
 			
 			for(employee emp : e) {
 				if(emp.getSalary()>salary) {
-					s.add(u.getUnmae());
+					Out.println(u.getUnmae());
+					found=true;
 					break;  // in same unit we got two slary > ip salary that why it print two time 
 				}
 			}
 		}
 		
-		if(s.size()!=0) {
-			for(int i=0; i<s.size(); i++) {
-				System.out.println(s.get(i));
+		if(!found) {
+			Out.println("No matching unit found");
+		}
+		
+	
+	}
+	
+}
+
+// Columnar copy of the units: employees of unit i are rows
+// offsets[i] .. offsets[i+1] of flat salary / name columns. Employee names
+// are FoldDictionary keys, unit names are dictionary ids.
+class EmployeeColumns{
+	final int[] offsets;
+	final int[] salary;
+	final int[] ename;
+	final int[] unmae;
+	final StringDictionary unames = new StringDictionary();
+	
+	public EmployeeColumns(ArrayList<unit> u) {
+		offsets = new int[u.size()+1];
+		for(int i=0; i<u.size(); i++) {
+			offsets[i+1] = offsets[i]+u.get(i).getEmp().size();
+		}
+		salary = new int[offsets[u.size()]];
+		ename = new int[offsets[u.size()]];
+		unmae = new int[u.size()];
+		for(int i=0; i<u.size(); i++) {
+			unit un = u.get(i);
+			unmae[i] = unames.intern(un.getUnmae());
+			int j = offsets[i];
+			for(employee em : un.getEmp()) {
+				salary[j] = em.getSalary();
+				ename[j] = em.getEnameKey();
+				j++;
 			}
 		}
+	}
+	
+	// same output as solution2.case1
+	public void case1(String name) {
+		long sum=ParallelSum.sumChecked(ename, FoldDictionary.find(name), salary);
+		if(sum==ParallelSum.NEGATIVE) {
+			Out.println(PRA03.NEGATIVE_SALARY);
+			return;
+		}
+		if(sum>0) {
+			Out.println(sum);
+		}
 		else {
-			System.out.println("No matching unit found");
+			Out.println("No employee found with mention name");
 		}
-		
-	
 	}
 	
+	// same output as solution2.case2
+	public void case2(int salary) {
+		boolean found=false;
+		for(int i=0; i<unmae.length; i++) {
+			for(int j=offsets[i]; j<offsets[i+1]; j++) {
+				if(this.salary[j]>salary) {
+					Out.println(unames.get(unmae[i]));
+					found=true;
+					break;
+				}
+			}
+		}
+		if(!found) {
+			Out.println("No matching unit found");
+		}
+	}
 }
 
-class SalaryisNegativeException extends Exception{
-	public SalaryisNegativeException() {
-		super("Invalid salary : salary cannot be negative");
+// Highest salary of every unit, sorted, so "units with any salary > X"
+// is a binary search plus the slice above it
+class UnitSalaryIndex{
+	private ArrayList<unit> units;
+	private int[] max;     // ascending
+	private int[] pos;     // unit position in the input list, same order as max
+	
+	public UnitSalaryIndex(ArrayList<unit> u) {
+		this.units=u;
+		long[] packed= new long[u.size()];
+		int k=0;
+		for(int i=0; i<u.size(); i++) {
+			ArrayList<employee> e=u.get(i).getEmp();
+			if(e.isEmpty()) {
+				continue; // can never match
+			}
+			int m=Integer.MIN_VALUE;
+			for(employee emp : e) {
+				m=Math.max(m, emp.getSalary());
+			}
+			// sorts by max salary, then by position
+			packed[k++]=((long)m<<32) | i;
+		}
+		Arrays.sort(packed, 0, k);
+		max= new int[k];
+		pos= new int[k];
+		for(int i=0; i<k; i++) {
+			max[i]=(int)(packed[i]>>32);
+			pos[i]=(int)packed[i];
+		}
+	}
+	
+	// positions of the units with a salary > salary, in input order
+	public int[] find(int salary) {
+		int lo=0, hi=max.length;
+		while(lo<hi) {
+			int mid=(lo+hi)>>>1;
+			if(max[mid]>salary) {
+				hi=mid;
+			}
+			else {
+				lo=mid+1;
+			}
+		}
+		int[] r=Arrays.copyOfRange(pos, lo, pos.length);
+		Arrays.sort(r);
+		return r;
+	}
+	
+	// same output as solution2.case2
+	public void case2(int salary) {
+		int[] r=find(salary);
+		for(int i : r) {
+			Out.println(units.get(i).getUnmae());
+		}
+		if(r.length==0) {
+			Out.println("No matching unit found");
+		}
 	}
 }
+
+// java PRA03 --multi : after the units, the rest of the input is (name, salary) query pairs
+// java PRA03 --stream <name> <salary> : answers while parsing, one unit in memory at a time
+// java PRA03 --pipeline [threads] : parses the units on worker threads, see Pipeline
+// java PRA03 --columnar : answers from EmployeeColumns instead of the object graph
+// java PRA03 --save-snapshot <file> / --snapshot <file> : see Snapshot; combine with --multi
 public class PRA03 {
+	
+	static final String NEGATIVE_SALARY = "Invalid salary : salary cannot be negative";
 
 	public static void main(String[] args) {
-		Scanner sc = new Scanner(System.in);
+		try {
+			run(args);
+		} finally {
+			Out.flush();
+		}
+	}
+	
+	static void run(String[] args) {
+		FastReader sc = new FastReader(System.in);
 		
-		int n=sc.nextInt();sc.nextLine();
+		if(args.length>2 && args[0].equals("--stream")) {
+			stream(sc, args[1], Integer.parseInt(args[2]));
+			return;
+		}
 		
-		ArrayList<unit> u = new ArrayList<>();
+		ArrayList<unit> u = load(sc, args);
 		
-		for(int i=0; i<n; i++) {
-			int a=sc.nextInt();sc.nextLine();
-			String b=sc.nextLine();
-			int c=sc.nextInt();sc.nextLine();
-			
-			ArrayList<employee> em= new ArrayList<>();
-			
-			for(int j=0; j<c; j++) {
-				int a1=sc.nextInt();sc.nextLine();
-				String b1=sc.nextLine();
-				int c1=sc.nextInt();sc.nextLine();
-				
-				em.add(new employee(a1,b1,c1));
+		if(Modes.has(args, "--multi")) {
+			UnitSalaryIndex idx= new UnitSalaryIndex(u);
+			while(sc.hasNextLine()) {
+				String name=sc.nextLine();
+				int salary=sc.nextInt();
+				if(sc.hasNextLine()) {
+					sc.nextLine();
+				}
+				solution2.case1(u, name);
+				idx.case2(salary);
 			}
-			
-			u.add(new unit(a,b,c,em));
+			return;
 		}
 		
-		solution2 s= new solution2();
-		
 		String ip1=sc.nextLine();
 		int ip2=sc.nextInt();sc.nextLine();
 		
-		s.case1(u, ip1);
-		s.case2(u, ip2);
+		if(Modes.has(args, "--columnar")) {
+			EmployeeColumns col= new EmployeeColumns(u);
+			col.case1(ip1);
+			col.case2(ip2);
+			return;
+		}
+		
+		solution2.case1(u, ip1);
+		solution2.case2(u, ip2);
 		
 		
 
 	}
+	
+	static ArrayList<unit> load(FastReader sc, String[] args) {
+		String snapshot=Modes.value(args, "--snapshot");
+		if(snapshot!=null) {
+			return readSnapshot(Paths.get(snapshot));
+		}
+		
+		ArrayList<unit> u;
+		if(Modes.has(args, "--pipeline")) {
+			u=Pipeline.load(sc, System.in, Pipeline.PRA03, PRA03::readUnit, Pipeline.threads(args));
+		}
+		else {
+			int n=sc.nextInt();sc.nextLine();
+			u = new ArrayList<>();
+			for(int i=0; i<n; i++) {
+				u.add(readUnit(sc));
+			}
+		}
+		
+		String save=Modes.value(args, "--save-snapshot");
+		if(save!=null) {
+			saveSnapshot(Paths.get(save), u);
+		}
+		return u;
+	}
+	
+	// --save-snapshot: the loaded units in Snapshot's format (kind 3)
+	static void saveSnapshot(Path file, ArrayList<unit> units) {
+		try (Snapshot.Writer w = new Snapshot.Writer(file, 3)) {
+			w.i(units.size());
+			for (unit u : units) {
+				w.i(u.getUid()); w.s(u.getUnmae()); w.i(u.getBudget());
+				w.i(u.getEmp().size());
+				for (employee e : u.getEmp()) {
+					w.i(e.getEid()); w.s(e.getEname()); w.i(e.getSalary());
+				}
+			}
+			w.finish();
+		}
+	}
+	
+	static ArrayList<unit> readSnapshot(Path file) {
+		try (Snapshot.Reader r = new Snapshot.Reader(file, 3)) {
+			int n = r.i();
+			ArrayList<unit> units = new ArrayList<>(n);
+			for (int i = 0; i < n; i++) {
+				int uid = r.i(); String name = r.s(); int budget = r.i();
+				int k = r.i();
+				ArrayList<employee> em = new ArrayList<>(k);
+				for (int j = 0; j < k; j++) {
+					em.add(new employee(r.i(), r.s(), r.i()));
+				}
+				units.add(new unit(uid, name, budget, em));
+			}
+			return units;
+		}
+	}
+	
+	static unit readUnit(FastReader sc) {
+		int a=sc.nextInt();sc.nextLine();
+		String b=sc.nextLine();
+		int c=sc.nextInt();sc.nextLine();
+		
+		ArrayList<employee> em= new ArrayList<>();
+		
+		for(int j=0; j<c; j++) {
+			int a1=sc.nextInt();sc.nextLine();
+			String b1=sc.nextLine();
+			int c1=sc.nextInt();sc.nextLine();
+			
+			em.add(new employee(a1,b1,c1));
+		}
+		
+		return new unit(a,b,c,em);
+	}
+	
+	// case1 + case2 in one pass; only the matching unit names are kept until the end
+	static void stream(FastReader sc, String name, int salary) {
+		int n=sc.nextInt();sc.nextLine();
+		long sum=0;
+		boolean negative=false;
+		ArrayList<String> units= new ArrayList<>();
+		int key=FoldDictionary.key(name);
+		
+		for(int i=0; i<n; i++) {
+			unit un=readUnit(sc);
+			boolean hit=false;
+			for(employee em : un.getEmp()) {
+				if(!negative && em.getEnameKey()==key) {
+					if(em.getSalary()<0) {
+						negative=true;
+					}
+					else {
+						sum+=em.getSalary();
+					}
+				}
+				hit |= em.getSalary()>salary;
+			}
+			if(hit) {
+				units.add(un.getUnmae());
+			}
+		}
+		
+		if(negative) {
+			Out.println(PRA03.NEGATIVE_SALARY);
+		}
+		else if(sum>0) {
+			Out.println(sum);
+		}
+		else {
+			Out.println("No employee found with mention name");
+		}
+		for(String s : units) {
+			Out.println(s);
+		}
+		if(units.isEmpty()) {
+			Out.println("No matching unit found");
+		}
+	}
 
 }
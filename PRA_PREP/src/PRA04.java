@@ -17,6 +17,8 @@ orange
  */
 
 
+import java.nio.file.Path;
+import java.nio.file.Paths;
 import java.util.*;
 
 // Order class
@@ -24,12 +26,17 @@ class Order {
     int orderId;
     String orderName;
     ArrayList<String> products;
-    ArrayList<Integer> quantities;
+    int[] productKeys; // FoldDictionary keys of products
+    int[] quantities; // quantities[i] belongs to products.get(i)
 
-    public Order(int orderId, String orderName, ArrayList<String> products, ArrayList<Integer> quantities) {
+    public Order(int orderId, String orderName, ArrayList<String> products, int[] quantities) {
         this.orderId = orderId;
         this.orderName = orderName;
         this.products = products;
+        this.productKeys = new int[products.size()];
+        for (int i = 0; i < productKeys.length; i++) {
+            productKeys[i] = FoldDictionary.key(products.get(i));
+        }
         this.quantities = quantities;
     }
 
@@ -45,13 +52,28 @@ class Order {
         return products;
     }
 
-    public ArrayList<Integer> getQuantities() {
+    public int[] getProductKeys() {
+        return productKeys;
+    }
+
+    public int[] getQuantities() {
         return quantities;
     }
+
+    public boolean hasProduct(int key) {
+        for (int k : productKeys) {
+            if (k == key) {
+                return true;
+            }
+        }
+        return false;
+    }
 }
 
 // Custom Exception
 class ProductNotFoundException extends Exception {
+    private static final long serialVersionUID = 1L;
+
     public ProductNotFoundException(String message) {
         super(message);
     }
@@ -65,28 +87,31 @@ class OrdersService {
             if (o.getOrderId() == orderId) {
                 if (o.getProducts().isEmpty()) break;
 
-                int maxIndex = 0;
-                for (int i = 1; i < o.getQuantities().size(); i++) {
-                    if (o.getQuantities().get(i) > o.getQuantities().get(maxIndex)) {
-                        maxIndex = i;
-                    }
-                }
-                return o.getProducts().get(maxIndex);
+                return o.getProducts().get(maxQuantityIndex(o.getQuantities()));
             }
         }
-        System.out.println("Order Id Not Found");
+        Out.println("Order Id Not Found");
         return null;
     }
 
+    // index of the first largest quantity
+    static int maxQuantityIndex(int[] q) {
+        int maxIndex = 0;
+        for (int i = 1; i < q.length; i++) {
+            if (q[i] > q[maxIndex]) {
+                maxIndex = i;
+            }
+        }
+        return maxIndex;
+    }
+
     // Task 2: Find orders that contain the given product name
     public ArrayList<Order> getOrdersByProductName(String productName, ArrayList<Order> orders) throws ProductNotFoundException {
         ArrayList<Order> result = new ArrayList<>();
+        int key = FoldDictionary.find(productName);
         for (Order o : orders) {
-            for (String p : o.getProducts()) {
-                if (p.equalsIgnoreCase(productName)) {
-                    result.add(o);
-                    break;
-                }
+            if (o.hasProduct(key)) {
+                result.add(o);
             }
         }
 
@@ -96,55 +121,266 @@ class OrdersService {
 
         return result;
     }
+
+    // Task 2 output without the result list: prints id and name of each
+    // matching order, false if there is none
+    public boolean printOrdersByProductName(String productName, ArrayList<Order> orders) {
+        boolean found = false;
+        int key = FoldDictionary.find(productName);
+        for (Order o : orders) {
+            if (o.hasProduct(key)) {
+                print(o);
+                found = true;
+            }
+        }
+        return found;
+    }
+
+    static void print(Order o) {
+        Out.println(o.getOrderId());
+        Out.println(o.getOrderName());
+    }
+}
+
+// OrdersService variant that indexes one list of orders up front:
+// orderId -> precomputed max-quantity product, and product key -> orders.
+// Both queries are then a hash lookup (plus O(k) for the matching orders).
+// The index is built from the orders as they are at construction and keeps
+// no reference to the list, so later changes to the list are not seen: build
+// a new service after changing it. The inherited methods that take a list
+// still scan whatever list they are given.
+class IndexedOrdersService extends OrdersService {
+    // only the first order with a given id is reachable, as in the linear scan
+    private final IntHashMap<Order> byId;
+    private final IntHashMap<String> maxProductById;
+    private final IntHashMap<ArrayList<Order>> byProduct = new IntHashMap<>(16);
+
+    public IndexedOrdersService(ArrayList<Order> orders) {
+        this.byId = new IntHashMap<>(orders.size());
+        this.maxProductById = new IntHashMap<>(orders.size());
+
+        for (Order o : orders) {
+            if (!byId.containsKey(o.getOrderId())) {
+                byId.put(o.getOrderId(), o);
+                if (!o.getProducts().isEmpty()) {
+                    maxProductById.put(o.getOrderId(), o.getProducts().get(maxQuantityIndex(o.getQuantities())));
+                }
+            }
+
+            for (int key : o.getProductKeys()) {
+                ArrayList<Order> list = byProduct.get(key);
+                if (list == null) {
+                    list = new ArrayList<>();
+                    byProduct.put(key, list);
+                }
+                // orders are added in sequence, so a repeat can only be the last one
+                if (list.isEmpty() || list.get(list.size() - 1) != o) {
+                    list.add(o);
+                }
+            }
+        }
+    }
+
+    public String getMaxQuantityProduct(int orderId) {
+        String product = maxProductById.get(orderId);
+        if (product == null) {
+            Out.println("Order Id Not Found");
+        }
+        return product;
+    }
+
+    public ArrayList<Order> getOrdersByProductName(String productName) throws ProductNotFoundException {
+        ArrayList<Order> result = byProduct.get(FoldDictionary.find(productName));
+        if (result == null) {
+            throw new ProductNotFoundException("Product Not Found");
+        }
+        return new ArrayList<>(result);
+    }
+
+    // prints straight from the index, no copy
+    public boolean printOrdersByProductName(String productName) {
+        ArrayList<Order> result = byProduct.get(FoldDictionary.find(productName));
+        for (int i = 0; result != null && i < result.size(); i++) {
+            print(result.get(i));
+        }
+        return result != null;
+    }
 }
 
 // Main class
+// java PRA04 --multi : after the orders, the rest of the input is (orderId, product) query pairs
+// java PRA04 --stream <orderId> <product> : answers while parsing, one order in memory at a time
+// java PRA04 --pipeline [threads] : parses the orders on worker threads, see Pipeline
+// java PRA04 --save-snapshot <file> / --snapshot <file> : see Snapshot; combine with --multi
 public class PRA04 {
     public static void main(String[] args) {
-        Scanner sc = new Scanner(System.in);
-        int n = Integer.parseInt(sc.nextLine());
-
-        ArrayList<Order> orders = new ArrayList<>();
+        try {
+            run(args);
+        } finally {
+            Out.flush();
+        }
+    }
 
-        for (int i = 0; i < n; i++) {
-            int id = Integer.parseInt(sc.nextLine());
-            String name = sc.nextLine();
-            int count = Integer.parseInt(sc.nextLine());
+    static void run(String[] args) {
+        FastReader sc = new FastReader(System.in);
 
-            ArrayList<String> products = new ArrayList<>();
-            ArrayList<Integer> quantities = new ArrayList<>();
+        if (args.length > 2 && args[0].equals("--stream")) {
+            stream(sc, Integer.parseInt(args[1]), args[2]);
+            return;
+        }
 
-            for (int j = 0; j < count; j++) {
-                String product = sc.nextLine();
-                int quantity = Integer.parseInt(sc.nextLine());
+        ArrayList<Order> orders = load(sc, args);
 
-                products.add(product);
-                quantities.add(quantity);
+        if (Modes.has(args, "--multi")) {
+            IndexedOrdersService service = new IndexedOrdersService(orders);
+            while (sc.hasNextLine()) {
+                int searchOrderId = Integer.parseInt(sc.nextLine());
+                String searchProduct = sc.nextLine();
+                answer(service, searchOrderId, searchProduct);
             }
-
-            orders.add(new Order(id, name, products, quantities));
+            return;
         }
 
         int searchOrderId = Integer.parseInt(sc.nextLine());
         String searchProduct = sc.nextLine();
 
-        OrdersService service = new OrdersService();
+        answer(new OrdersService(), orders, searchOrderId, searchProduct);
+    }
 
+    static ArrayList<Order> load(FastReader sc, String[] args) {
+        String snapshot = Modes.value(args, "--snapshot");
+        if (snapshot != null) {
+            return readSnapshot(Paths.get(snapshot));
+        }
+
+        ArrayList<Order> orders;
+        if (Modes.has(args, "--pipeline")) {
+            orders = Pipeline.load(sc, System.in, Pipeline.PRA04, PRA04::readOrder, Pipeline.threads(args));
+        } else {
+            int n = Integer.parseInt(sc.nextLine());
+            orders = new ArrayList<>();
+            for (int i = 0; i < n; i++) {
+                orders.add(readOrder(sc));
+            }
+        }
+
+        String save = Modes.value(args, "--save-snapshot");
+        if (save != null) {
+            saveSnapshot(Paths.get(save), orders);
+        }
+        return orders;
+    }
+
+    // --save-snapshot: the loaded orders in Snapshot's format (kind 4)
+    static void saveSnapshot(Path file, ArrayList<Order> orders) {
+        try (Snapshot.Writer w = new Snapshot.Writer(file, 4)) {
+            w.i(orders.size());
+            for (Order o : orders) {
+                w.i(o.getOrderId()); w.s(o.getOrderName());
+                w.i(o.getProducts().size());
+                for (int j = 0; j < o.getProducts().size(); j++) {
+                    w.s(o.getProducts().get(j)); w.i(o.getQuantities()[j]);
+                }
+            }
+            w.finish();
+        }
+    }
+
+    static ArrayList<Order> readSnapshot(Path file) {
+        try (Snapshot.Reader r = new Snapshot.Reader(file, 4)) {
+            int n = r.i();
+            ArrayList<Order> orders = new ArrayList<>(n);
+            for (int i = 0; i < n; i++) {
+                int id = r.i(); String name = r.s();
+                int k = r.i();
+                ArrayList<String> products = new ArrayList<>(k);
+                int[] quantities = new int[k];
+                for (int j = 0; j < k; j++) {
+                    products.add(r.s());
+                    quantities[j] = r.i();
+                }
+                orders.add(new Order(id, name, products, quantities));
+            }
+            return orders;
+        }
+    }
+
+    static Order readOrder(FastReader sc) {
+        int id = Integer.parseInt(sc.nextLine());
+        String name = sc.nextLine();
+        int count = Integer.parseInt(sc.nextLine());
+
+        ArrayList<String> products = new ArrayList<>();
+        IntList quantities = new IntList(count);
+
+        for (int j = 0; j < count; j++) {
+            String product = sc.nextLine();
+            int quantity = Integer.parseInt(sc.nextLine());
+
+            products.add(product);
+            quantities.add(quantity);
+        }
+
+        return new Order(id, name, products, quantities.toArray());
+    }
+
+    // Both tasks in one pass; only the matching order ids/names are kept until the end
+    static void stream(FastReader sc, int searchOrderId, String searchProduct) {
+        int n = Integer.parseInt(sc.nextLine());
+        boolean idSeen = false;
+        String maxProduct = null;
+        ArrayList<String> found = new ArrayList<>();
+        int key = FoldDictionary.key(searchProduct);
+
+        for (int i = 0; i < n; i++) {
+            Order o = readOrder(sc);
+            // the first order with the id decides, as in the linear scan
+            if (!idSeen && o.getOrderId() == searchOrderId) {
+                idSeen = true;
+                if (!o.getProducts().isEmpty()) {
+                    maxProduct = o.getProducts().get(OrdersService.maxQuantityIndex(o.getQuantities()));
+                }
+            }
+            if (o.hasProduct(key)) {
+                found.add(String.valueOf(o.getOrderId()));
+                found.add(o.getOrderName());
+            }
+        }
+
+        if (maxProduct != null) {
+            Out.println(maxProduct);
+        } else {
+            Out.println("Order Id Not Found");
+        }
+        for (String s : found) {
+            Out.println(s);
+        }
+        if (found.isEmpty()) {
+            Out.println("Product Not Found");
+        }
+    }
+
+    static void answer(OrdersService service, ArrayList<Order> orders, int searchOrderId, String searchProduct) {
         // Task 1 Output
         String maxProduct = service.getMaxQuantityProduct(searchOrderId, orders);
         if (maxProduct != null) {
-            System.out.println(maxProduct);
+            Out.println(maxProduct);
         }
 
-        // Task 2 Output
-        try {
-            ArrayList<Order> foundOrders = service.getOrdersByProductName(searchProduct, orders);
-            for (Order o : foundOrders) {
-                System.out.println(o.getOrderId());
-                System.out.println(o.getOrderName());
-            }
-        } catch (ProductNotFoundException e) {
-            System.out.println(e.getMessage());
+        // Task 2 Output, printed as the orders are found
+        if (!service.printOrdersByProductName(searchProduct, orders)) {
+            Out.println("Product Not Found");
+        }
+    }
+
+    // answer from the index, for --multi
+    static void answer(IndexedOrdersService service, int searchOrderId, String searchProduct) {
+        String maxProduct = service.getMaxQuantityProduct(searchOrderId);
+        if (maxProduct != null) {
+            Out.println(maxProduct);
+        }
+        if (!service.printOrdersByProductName(searchProduct)) {
+            Out.println("Product Not Found");
         }
     }
 }
\ No newline at end of file
@@ -1,13 +1,18 @@
 
 
+import java.nio.file.Path;
+import java.nio.file.Paths;
 import java.util.*;
 
 class Fairy{
 	private String fname;
 	private String ttype;
+	private int ttypeKey; // FoldDictionary key of ttype
 	private double elevel;
 	private int noofdays;
-	private ArrayList<Integer> dailytasks;
+	private int[] dailytasks; // may have spare capacity after addTask; never handed out
+	private int taskCount;
+	private int total; // sum of the tasks, kept up to date by addTask
 	
 	public String getFname() {
 		return fname;
@@ -20,6 +25,10 @@ class Fairy{
 	}
 	public void setTtype(String ttype) {
 		this.ttype = ttype;
+		this.ttypeKey = FoldDictionary.key(ttype);
+	}
+	public int getTtypeKey() {
+		return ttypeKey;
 	}
 	public double getElevel() {
 		return elevel;
@@ -33,52 +42,153 @@ class Fairy{
 	public void setNoofdays(int noofdays) {
 		this.noofdays = noofdays;
 	}
-	public ArrayList<Integer> getDailytasks() {
-		return dailytasks;
+	// a copy: changing the tasks would have to update total, and re-rank the fairy on a FairyBoard
+	public int[] getDailytasks() {
+		return Arrays.copyOf(dailytasks, taskCount);
+	}
+	// the task of day d, from 0 to getTaskCount() - 1
+	public int getTask(int d) {
+		if(d >= taskCount) {
+			throw new IndexOutOfBoundsException("day " + d + " of " + taskCount);
+		}
+		return dailytasks[d];
 	}
-	public void setDailytasks(ArrayList<Integer> dailytasks) {
+	private void setDailytasks(int[] dailytasks) {
 		this.dailytasks = dailytasks;
+		this.taskCount = dailytasks.length;
+		this.total = 0;
+		for(int t:dailytasks) {
+			total += t;
+		}
+	}
+	public int getTaskCount() {
+		return taskCount;
+	}
+	public int getTotal() {
+		return total;
 	}
-	public Fairy(String fname, String ttype, double elevel, int noofdays, ArrayList<Integer> dailytasks) {
+	// Appends one day's tasks, amortised O(1). Not public: it changes the total,
+	// so a fairy on a FairyBoard must go through FairyBoard.addTask to be re-ranked
+	void addTask(int task) {
+		if(taskCount == dailytasks.length) {
+			dailytasks = Arrays.copyOf(dailytasks, Math.max(4, taskCount * 2));
+		}
+		dailytasks[taskCount++] = task;
+		total += task;
+		noofdays++;
+	}
+	public Fairy(String fname, String ttype, double elevel, int noofdays, int[] dailytasks) {
 		super();
 		this.fname = fname;
 		this.ttype = ttype;
+		this.ttypeKey = FoldDictionary.key(ttype);
 		this.elevel = elevel;
 		this.noofdays = noofdays;
-		this.dailytasks = dailytasks;
+		setDailytasks(dailytasks);
 	}
 }
 
-class TalentNotFoundException extends Exception{
-	public TalentNotFoundException() {
-		super("No Fairies Found");
+// Fairies ranked by task total, highest first and earlier input first on
+// ties, kept in order as tasks are added. Also indexes ttype key -> fairies,
+// so neither leaderboard nor talent queries rescan the list.
+class FairyBoard {
+	private final ArrayList<Fairy> fairies = new ArrayList<>();
+	private final TreeSet<Integer> ranked = new TreeSet<>((a, b) -> {
+		int c = Integer.compare(fairies.get(b).getTotal(), fairies.get(a).getTotal());
+		return c != 0 ? c : Integer.compare(a, b);
+	});
+	private final IntHashMap<IntList> byTtype = new IntHashMap<>(16);
+	private long tasks;
+	
+	public FairyBoard(ArrayList<Fairy> list) {
+		for(Fairy f:list) {
+			add(f);
+		}
 	}
-}
-
-class NoTaskDataException extends Exception{
-	public NoTaskDataException() {
-		super("No Task Data Available");
+	
+	public void add(Fairy f) {
+		int i = fairies.size();
+		fairies.add(f);
+		ranked.add(i);
+		IntList l = byTtype.get(f.getTtypeKey());
+		if(l == null) {
+			l = new IntList();
+			byTtype.put(f.getTtypeKey(), l);
+		}
+		l.add(i);
+		tasks += f.getTaskCount();
+	}
+	
+	// appends a task to the i-th fairy (input order, from 0) and re-ranks it
+	public void addTask(int i, int task) {
+		if(i < 0 || i >= fairies.size()) {
+			throw new IllegalArgumentException("no fairy at index " + i + ", the board has " + fairies.size());
+		}
+		ranked.remove(i);
+		fairies.get(i).addTask(task);
+		ranked.add(i);
+		tasks++;
+	}
+	
+	// same output as PRA05.listByTtype, straight from the index
+	public void listByTtype(String ttype) {
+		IntList l = byTtype.get(FoldDictionary.find(ttype));
+		for(int j=0; l != null && j<l.size(); j++) {
+			Out.println(fairies.get(l.get(j)).getFname());
+		}
+		if(l == null || l.size() == 0) {
+			Out.println(PRA05.NO_FAIRIES);
+		}
+	}
+	
+	// same output as PRA05.hardestWorkingFairy: the first fairy with the
+	// highest total, or "" when no total is above 0
+	public void hardestWorkingFairy() {
+		if(tasks == 0) {
+			Out.println(PRA05.NO_TASK_DATA);
+			return;
+		}
+		Fairy f = fairies.get(ranked.first());
+		Out.println(f.getTotal() > 0 ? f.getFname() : "");
+	}
+	
+	// the k fairies with the highest totals and their totals, k >= 0
+	public void printTop(int k) {
+		int n = 0;
+		for(int i : ranked) {
+			if(n++ == k) {
+				break;
+			}
+			Fairy f = fairies.get(i);
+			Out.println(f.getFname()+" "+f.getTotal());
+		}
 	}
 }
 
+// java PRA05 --multi : after the fairies, every remaining line is a query:
+//   top <k>           the k hardest working fairies with their totals; k >= 0
+//   add <i> <task>    append a task to the i-th fairy (from 1, input order)
+//   hardest           as hardestWorkingFairy
+//   <ttype>           as listByTtype
+// java PRA05 --stream <ttype> : answers while parsing, one fairy in memory at a time
+// java PRA05 --pipeline [threads] : parses the fairies on worker threads, see Pipeline
+// java PRA05 --save-snapshot <file> / --snapshot <file> : see Snapshot; combine with --multi
 public class PRA05 {
 	
+	static final String NO_FAIRIES = "No Fairies Found";
+	static final String NO_TASK_DATA = "No Task Data Available";
+	
 	public static void listByTtype(ArrayList<Fairy> list,String ttype) {
 		int flag = 0;
+		int key = FoldDictionary.find(ttype);
 		for(Fairy f:list) {
-			if(f.getTtype().equalsIgnoreCase(ttype)) {
-				System.out.println(f.getFname());
+			if(f.getTtypeKey()==key) {
+				Out.println(f.getFname());
 				flag++;
 			}
 		}
 		if(flag == 0) {
-//			System.out.println("No Fairies Found");
-			//To run the code without using exception just uncomment sysout line and comment try-catch block/
-			try {
-				throw new TalentNotFoundException();
-			}catch(TalentNotFoundException e) {
-				System.out.println(e.getMessage());
-			}
+			Out.println(PRA05.NO_FAIRIES);
 		}
 	}
 	
@@ -87,56 +197,178 @@ public class PRA05 {
 		int hardestWork = 0;
 		String hFairy = "";
 		for(Fairy f:list) {
-			int total = 0;
-			for(int i:f.getDailytasks()) {
-				total += i;
-				flag++;
-			}
+			int total = f.getTotal();
+			flag += f.getTaskCount();
 			if(total > hardestWork) {
 				hardestWork = total;
 				hFairy = f.getFname();
 			}
 		}
 		if(flag == 0) {
-//			System.out.println("No Task Data Available");
-			//To run the code without using exception just uncomment sysout line and comment try-catch block/
-			try {
-				throw new NoTaskDataException();
-			}catch(NoTaskDataException e) {
-				System.out.println(e.getMessage());
-			}
+			Out.println(PRA05.NO_TASK_DATA);
 		}else {			
-			System.out.println(hFairy);
+			Out.println(hFairy);
 		}
 	}
 	
-	public static void main(String[] args) {
-		Scanner sc = new Scanner(System.in);
+	static Fairy readFairy(FastReader sc) {
+		String fname = sc.nextLine();
+		String ttype = sc.nextLine();
+		double elevel = sc.nextDouble();
+		sc.nextLine();
+		int noofdays = sc.nextInt();
+		sc.nextLine();
 		
+		IntList taskCompleted = new IntList(noofdays);
+		
+		for(int j=0;j<noofdays;j++) {
+			int task = sc.nextInt();
+			sc.nextLine();
+			
+			taskCompleted.add(task);
+		}
+		
+		return new Fairy(fname,ttype,elevel,noofdays,taskCompleted.toArray());
+	}
+	
+	// listByTtype + hardestWorkingFairy in one pass
+	static void stream(FastReader sc, String ttype) {
 		int n = sc.nextInt();
 		sc.nextLine();
-		
-		ArrayList<Fairy> list = new ArrayList<>();
+		int matches = 0;
+		int flag = 0;
+		int hardestWork = 0;
+		String hFairy = "";
+		int key = FoldDictionary.key(ttype);
 		
 		for(int i=0;i<n;i++) {
-			String fname = sc.nextLine();
-			String ttype = sc.nextLine();
-			double elevel = sc.nextDouble();
-			sc.nextLine();
-			int noofdays = sc.nextInt();
+			Fairy f = readFairy(sc);
+			if(f.getTtypeKey()==key) {
+				Out.println(f.getFname());
+				matches++;
+			}
+			int total = f.getTotal();
+			flag += f.getTaskCount();
+			if(total > hardestWork) {
+				hardestWork = total;
+				hFairy = f.getFname();
+			}
+		}
+		
+		if(matches == 0) {
+			Out.println(PRA05.NO_FAIRIES);
+		}
+		if(flag == 0) {
+			Out.println(PRA05.NO_TASK_DATA);
+		}else {
+			Out.println(hFairy);
+		}
+	}
+	
+	static ArrayList<Fairy> load(FastReader sc, String[] args) {
+		String snapshot = Modes.value(args, "--snapshot");
+		if(snapshot!=null) {
+			return readSnapshot(Paths.get(snapshot));
+		}
+		
+		ArrayList<Fairy> list;
+		if(Modes.has(args, "--pipeline")) {
+			list = Pipeline.load(sc, System.in, Pipeline.PRA05, PRA05::readFairy, Pipeline.threads(args));
+		}
+		else {
+			int n = sc.nextInt();
 			sc.nextLine();
-			
-			ArrayList<Integer> taskCompleted = new ArrayList<>();
-			
-			for(int j=0;j<noofdays;j++) {
-				int task = sc.nextInt();
-				sc.nextLine();
-				
-				taskCompleted.add(task);
+			list = new ArrayList<>();
+			for(int i=0;i<n;i++) {
+				list.add(readFairy(sc));
 			}
-			
-			list.add(new Fairy(fname,ttype,elevel,noofdays,taskCompleted));
 		}
+		
+		String save = Modes.value(args, "--save-snapshot");
+		if(save!=null) {
+			saveSnapshot(Paths.get(save), list);
+		}
+		return list;
+	}
+	
+	// --save-snapshot: the loaded fairies in Snapshot's format (kind 5)
+	static void saveSnapshot(Path file, ArrayList<Fairy> list) {
+		try (Snapshot.Writer w = new Snapshot.Writer(file, 5)) {
+			w.i(list.size());
+			for (Fairy f : list) {
+				w.s(f.getFname()); w.s(f.getTtype()); w.d(f.getElevel()); w.i(f.getNoofdays());
+				w.i(f.getTaskCount());
+				for (int d = 0; d < f.getTaskCount(); d++) {
+					w.i(f.getTask(d));
+				}
+			}
+			w.finish();
+		}
+	}
+	
+	static ArrayList<Fairy> readSnapshot(Path file) {
+		try (Snapshot.Reader r = new Snapshot.Reader(file, 5)) {
+			int n = r.i();
+			ArrayList<Fairy> list = new ArrayList<>(n);
+			for (int i = 0; i < n; i++) {
+				String fname = r.s(); String ttype = r.s(); double elevel = r.d(); int noofdays = r.i();
+				int[] tasks = new int[r.i()];
+				for (int j = 0; j < tasks.length; j++) {
+					tasks[j] = r.i();
+				}
+				list.add(new Fairy(fname, ttype, elevel, noofdays, tasks));
+			}
+			return list;
+		}
+	}
+	
+	public static void main(String[] args) {
+		try {
+			run(args);
+		} finally {
+			Out.flush();
+		}
+	}
+	
+	static void run(String[] args) {
+		FastReader sc = new FastReader(System.in);
+		
+		if(args.length>1 && args[0].equals("--stream")) {
+			stream(sc, args[1]);
+			return;
+		}
+		
+		ArrayList<Fairy> list = load(sc, args);
+		
+		if(Modes.has(args, "--multi")) {
+			FairyBoard board = new FairyBoard(list);
+			while(sc.hasNextLine()) {
+				String q = sc.nextLine();
+				String[] w = q.trim().split("\\s+");
+				if(w.length == 2 && w[0].equals("top")) {
+					int k = Integer.parseInt(w[1]);
+					if(k < 0) {
+						throw new IllegalArgumentException("top k must not be negative: " + q);
+					}
+					board.printTop(k);
+				}
+				else if(w.length == 3 && w[0].equals("add")) {
+					int i = Integer.parseInt(w[1]);
+					if(i < 1 || i > list.size()) {
+						throw new IllegalArgumentException("add i must be between 1 and " + list.size() + ": " + q);
+					}
+					board.addTask(i-1, Integer.parseInt(w[2]));
+				}
+				else if(q.equals("hardest")) {
+					board.hardestWorkingFairy();
+				}
+				else {
+					board.listByTtype(q);
+				}
+			}
+			return;
+		}
+		
 		String checkTtype = sc.nextLine();
 		listByTtype(list,checkTtype);
 		hardestWorkingFairy(list);
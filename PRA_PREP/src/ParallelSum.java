@@ -0,0 +1,246 @@
+import java.util.List;
+import java.util.concurrent.ForkJoinPool;
+import java.util.concurrent.RecursiveTask;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.function.Function;
+import java.util.function.ToDoubleFunction;
+import java.util.function.ToIntFunction;
+import java.util.stream.IntStream;
+
+// Sums over the PRA parent -> children lists (customer -> perfume, customer1 -> cycle,
+// unit -> employee). Large lists are split by parent range on the common
+// fork-join pool; small ones are summed in the calling thread without
+// allocating anything.
+class ParallelSum {
+	
+	// parents per leaf task, and below this the whole sum runs sequentially
+	static final int THRESHOLD = 1 << 12;
+	
+	// sumChecked result when a matching child had a negative value; real sums
+	// of non-negative ints are never negative
+	static final long NEGATIVE = -1;
+	
+	// Long sum of value(child) over the children with keyOf(child) == key, or
+	// NEGATIVE. Like the original loops it gives up as soon as a matching value
+	// is negative. Taking the key instead of a filter lambda lets callers pass
+	// method references, so nothing is captured per call.
+	static <P, C> long sumChecked(List<P> parents, Function<P, ? extends List<C>> children,
+			ToIntFunction<C> keyOf, int key, ToIntFunction<C> value) {
+		if (parents.size() <= THRESHOLD) {
+			return sumRange(parents, children, keyOf, key, value, 0, parents.size(), null);
+		}
+		CheckedTask<P, C> task = new CheckedTask<>(parents, children, keyOf, key, value, 0, parents.size(), new AtomicBoolean());
+		long sum = ForkJoinPool.commonPool().invoke(task);
+		return task.negative.get() ? NEGATIVE : sum;
+	}
+	
+	// sumChecked over parents [from, to); gives up early once stop is set
+	private static <P, C> long sumRange(List<P> parents, Function<P, ? extends List<C>> children,
+			ToIntFunction<C> keyOf, int key, ToIntFunction<C> value, int from, int to, AtomicBoolean stop) {
+		long sum = 0;
+		for (int i = from; i < to; i++) {
+			if (stop != null && stop.get()) {
+				return NEGATIVE; // another task already found one
+			}
+			List<C> l = children.apply(parents.get(i));
+			for (int j = 0; j < l.size(); j++) {
+				C c = l.get(j);
+				if (keyOf.applyAsInt(c) == key) {
+					int v = value.applyAsInt(c);
+					if (v < 0) {
+						return NEGATIVE;
+					}
+					sum += v;
+				}
+			}
+		}
+		return sum;
+	}
+	
+	// Compensated (Neumaier) double sum of value(child) over all children.
+	// Parents are summed in fixed chunks of THRESHOLD that are folded left to
+	// right, so the result does not depend on threads (see Compensated).
+	static <P, C> double sumCompensated(List<P> parents, Function<P, ? extends List<C>> children,
+			ToDoubleFunction<C> value) {
+		int chunks = (parents.size() + THRESHOLD - 1) / THRESHOLD;
+		if (chunks <= 1) {
+			// the single chunk folded into a zero total is the chunk itself;
+			// summed in locals, as the JIT keeps an acc array on the heap
+			double s = 0, comp = 0;
+			for (int i = 0; i < parents.size(); i++) {
+				List<C> l = children.apply(parents.get(i));
+				for (int j = 0; j < l.size(); j++) {
+					double x = value.applyAsDouble(l.get(j));
+					double t = s + x;
+					comp += error(s, x, t);
+					s = t;
+				}
+			}
+			return s + comp;
+		}
+		double[][] partial = new double[chunks][];
+		IntStream.range(0, chunks).parallel().forEach(k -> {
+			double[] acc = new double[2];
+			for (int i = k * THRESHOLD; i < Math.min(parents.size(), (k + 1) * THRESHOLD); i++) {
+				for (C c : children.apply(parents.get(i))) {
+					add(acc, value.applyAsDouble(c));
+				}
+			}
+			partial[k] = acc;
+		});
+		double[] total = new double[2];
+		for (double[] acc : partial) {
+			fold(total, acc);
+		}
+		return total[0] + total[1];
+	}
+	
+	// sumCompensated over a columnar layout, where the children of parent i are
+	// values[offsets[i] .. offsets[i + 1]). Same chunks, so the same bits.
+	static double sumCompensated(int[] offsets, double[] values) {
+		int parents = offsets.length - 1;
+		int chunks = (parents + THRESHOLD - 1) / THRESHOLD;
+		if (chunks <= 1) {
+			double s = 0, comp = 0;
+			for (int j = 0; j < offsets[parents]; j++) {
+				double t = s + values[j];
+				comp += error(s, values[j], t);
+				s = t;
+			}
+			return s + comp;
+		}
+		double[][] partial = new double[chunks][];
+		IntStream.range(0, chunks).parallel().forEach(k -> {
+			double[] acc = new double[2];
+			int end = offsets[Math.min(parents, (k + 1) * THRESHOLD)];
+			for (int j = offsets[k * THRESHOLD]; j < end; j++) {
+				add(acc, values[j]);
+			}
+			partial[k] = acc;
+		});
+		double[] total = new double[2];
+		for (double[] acc : partial) {
+			fold(total, acc);
+		}
+		return total[0] + total[1];
+	}
+	
+	// sumChecked over columns: values[j] where keys[j] == key, or NEGATIVE
+	static long sumChecked(int[] keys, int key, int[] values) {
+		int n = keys.length;
+		int chunks = (n + THRESHOLD * 16 - 1) / (THRESHOLD * 16);
+		if (chunks <= 1) {
+			long s = 0;
+			for (int j = 0; j < n; j++) {
+				if (keys[j] == key) {
+					if (values[j] < 0) {
+						return NEGATIVE;
+					}
+					s += values[j];
+				}
+			}
+			return s;
+		}
+		AtomicBoolean negative = new AtomicBoolean();
+		long sum = IntStream.range(0, chunks).parallel().mapToLong(k -> {
+			long s = 0;
+			for (int j = k * THRESHOLD * 16; j < Math.min(n, (k + 1) * THRESHOLD * 16); j++) {
+				if (keys[j] == key) {
+					if (values[j] < 0 || negative.get()) {
+						negative.set(true);
+						return 0;
+					}
+					s += values[j];
+				}
+			}
+			return s;
+		}).sum();
+		return negative.get() ? NEGATIVE : sum;
+	}
+	
+	// The same chunked compensated sum fed one value at a time, for streaming
+	// evaluation; gives the same bits as sumCompensated over the same input.
+	static final class Compensated {
+		private final double[] total = new double[2];
+		private final double[] chunk = new double[2];
+		private int parents;
+		
+		void add(double x) {
+			ParallelSum.add(chunk, x);
+		}
+		
+		void endParent() {
+			if (++parents % THRESHOLD == 0) {
+				fold(total, chunk);
+				chunk[0] = 0;
+				chunk[1] = 0;
+			}
+		}
+		
+		double sum() {
+			double[] t = total.clone();
+			if (parents % THRESHOLD != 0) {
+				fold(t, chunk);
+			}
+			return t[0] + t[1];
+		}
+	}
+	
+	// acc = {sum, compensation}
+	static void add(double[] acc, double x) {
+		double s = acc[0];
+		double t = s + x;
+		acc[1] += error(s, x, t);
+		acc[0] = t;
+	}
+	
+	// the rounding error of t = s + x
+	static double error(double s, double x, double t) {
+		return Math.abs(s) >= Math.abs(x) ? (s - t) + x : (x - t) + s;
+	}
+	
+	static void fold(double[] total, double[] acc) {
+		add(total, acc[0]);
+		total[1] += acc[1];
+	}
+	
+	private static final class CheckedTask<P, C> extends RecursiveTask<Long> {
+		private static final long serialVersionUID = 1L;
+		
+		final List<P> parents;
+		final Function<P, ? extends List<C>> children;
+		final ToIntFunction<C> keyOf;
+		final int key;
+		final ToIntFunction<C> value;
+		final int from, to;
+		final AtomicBoolean negative;
+		
+		CheckedTask(List<P> parents, Function<P, ? extends List<C>> children, ToIntFunction<C> keyOf, int key,
+				ToIntFunction<C> value, int from, int to, AtomicBoolean negative) {
+			this.parents = parents;
+			this.children = children;
+			this.keyOf = keyOf;
+			this.key = key;
+			this.value = value;
+			this.from = from;
+			this.to = to;
+			this.negative = negative;
+		}
+		
+		@Override
+		protected Long compute() {
+			if (to - from <= THRESHOLD) {
+				long sum = sumRange(parents, children, keyOf, key, value, from, to, negative);
+				if (sum == NEGATIVE) {
+					negative.set(true);
+				}
+				return sum;
+			}
+			int mid = (from + to) >>> 1;
+			CheckedTask<P, C> left = new CheckedTask<>(parents, children, keyOf, key, value, from, mid, negative);
+			left.fork();
+			long right = new CheckedTask<>(parents, children, keyOf, key, value, mid, to, negative).compute();
+			return left.join() + right;
+		}
+	}
+}
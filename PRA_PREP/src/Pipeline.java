@@ -0,0 +1,345 @@
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.UncheckedIOException;
+import java.nio.ByteBuffer;
+import java.nio.channels.Channels;
+import java.nio.channels.ReadableByteChannel;
+import java.nio.charset.StandardCharsets;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.concurrent.ArrayBlockingQueue;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.FutureTask;
+
+// Multi-threaded loading of the PRA record lists (--pipeline [threads]).
+// A reader thread pulls the input through an NIO channel in chunks and cuts
+// it into batches of whole records, following the count line of each record
+// to find where it ends. Worker threads parse the batches with FastReader and
+// the program's own read method. The caller collects the batches in input
+// order, so the list is the same as a sequential parse.
+//
+// Pending batches sit in a bounded queue, so the reader blocks (and memory
+// stays bounded) when parsing falls behind. Input the splitter cannot follow,
+// such as a bad count or input ending inside a record, is handed back and
+// parsed sequentially, so errors surface exactly as before.
+class Pipeline<T> implements Runnable {
+	
+	interface Parser<T> {
+		T read(FastReader sc);
+	}
+	
+	// One char per input line of a record: 'T' is a token line read with
+	// nextInt/nextDouble + nextLine, 'L' a line read with nextLine.
+	static final class Layout {
+		final String header;
+		final int countField; // header line holding the number of children
+		final String child;
+		
+		Layout(String header, int countField, String child) {
+			this.header = header;
+			this.countField = countField;
+			this.child = child;
+		}
+	}
+	
+	static final Layout PRA01 = new Layout("TLTLT", 4, "TLTL");
+	static final Layout PRA02 = new Layout("TLT", 2, "TLT");
+	static final Layout PRA03 = new Layout("TLT", 2, "TLT");
+	static final Layout PRA04 = new Layout("LLL", 2, "LL");
+	static final Layout PRA05 = new Layout("LLTT", 3, "T");
+	
+	private static final int CHUNK = 1 << 16;
+	private static final int BATCH_BYTES = 1 << 18;
+	private static final long FAIL = Long.MIN_VALUE;
+	
+	// Loads the records that follow sc's position, like
+	//   n = <count line>; for n times: list.add(parser.read(sc))
+	// sc must not have read from in yet.
+	static <T> ArrayList<T> load(FastReader sc, InputStream in, Layout layout, Parser<T> parser, int threads) {
+		Pipeline<T> p = new Pipeline<>(Channels.newChannel(in), layout, parser, threads);
+		Thread reader = new Thread(p, "pra-reader");
+		reader.setDaemon(true);
+		reader.start();
+		try {
+			return p.collect(sc);
+		} finally {
+			p.pool.shutdownNow();
+		}
+	}
+	
+	// --pipeline [threads], defaulting to one worker per core
+	static int threads(String[] args) {
+		String v = Modes.value(args, "--pipeline");
+		if (v != null && v.matches("[0-9]+")) {
+			return Math.max(1, Integer.parseInt(v));
+		}
+		return Runtime.getRuntime().availableProcessors();
+	}
+	
+	private final ReadableByteChannel channel;
+	private final Layout layout;
+	private final Parser<T> parser;
+	private final ExecutorService pool;
+	private final ArrayBlockingQueue<FutureTask<ArrayList<T>>> pending;
+	private final FutureTask<ArrayList<T>> end = new FutureTask<>(() -> null);
+	
+	// reader state; data[start .. p) is the current batch, data[p .. limit) not yet split
+	private byte[] data = new byte[2 * BATCH_BYTES];
+	private int start, p, limit;
+	private boolean eof;
+	private int tokenStart, tokenEnd, lineEnd;
+	
+	// published to the caller by the end marker
+	private boolean countRead;
+	private long remaining;
+	private byte[] leftover;
+	private Throwable failure;
+	
+	private Pipeline(ReadableByteChannel channel, Layout layout, Parser<T> parser, int threads) {
+		this.channel = channel;
+		this.layout = layout;
+		this.parser = parser;
+		this.pool = Executors.newFixedThreadPool(threads, r -> {
+			Thread t = new Thread(r, "pra-parse");
+			t.setDaemon(true);
+			return t;
+		});
+		this.pending = new ArrayBlockingQueue<>(2 * threads);
+	}
+	
+	private ArrayList<T> collect(FastReader sc) {
+		ArrayList<T> list = new ArrayList<>();
+		try {
+			for (FutureTask<ArrayList<T>> f = pending.take(); f != end; f = pending.take()) {
+				list.addAll(f.get());
+			}
+		} catch (InterruptedException e) {
+			Thread.currentThread().interrupt();
+			throw new IllegalStateException(e);
+		} catch (ExecutionException e) {
+			throw rethrow(e.getCause());
+		}
+		if (failure != null) {
+			throw rethrow(failure);
+		}
+		
+		sc.unread(leftover, 0, leftover.length);
+		if (!countRead) {
+			remaining = layout.header.charAt(layout.countField) == 'T' ? readInt(sc) : Integer.parseInt(sc.nextLine());
+		}
+		for (long i = 0; i < remaining; i++) {
+			list.add(parser.read(sc));
+		}
+		return list;
+	}
+	
+	private static int readInt(FastReader sc) {
+		int n = sc.nextInt();
+		sc.nextLine();
+		return n;
+	}
+	
+	private static RuntimeException rethrow(Throwable t) {
+		if (t instanceof Error) {
+			throw (Error) t;
+		}
+		if (t instanceof IOException) {
+			return new UncheckedIOException((IOException) t);
+		}
+		return t instanceof RuntimeException ? (RuntimeException) t : new IllegalStateException(t);
+	}
+	
+	@Override
+	public void run() {
+		try {
+			split();
+		} catch (Throwable t) {
+			failure = t;
+		}
+		try {
+			pending.put(end);
+		} catch (InterruptedException e) {
+			Thread.currentThread().interrupt();
+		}
+	}
+	
+	private void split() throws IOException, InterruptedException {
+		long n = count(layout.header.charAt(layout.countField));
+		if (n == FAIL) {
+			leftover = Arrays.copyOf(data, limit);
+			return;
+		}
+		countRead = true;
+		start = p;
+		remaining = n;
+		int inBatch = 0;
+		while (remaining > 0) {
+			int recordStart = p;
+			if (!record()) {
+				p = recordStart;
+				break;
+			}
+			remaining--;
+			inBatch++;
+			if (p - start >= BATCH_BYTES) {
+				emit(inBatch);
+				inBatch = 0;
+			}
+		}
+		if (inBatch > 0) {
+			emit(inBatch);
+		}
+		leftover = Arrays.copyOfRange(data, p, limit);
+	}
+	
+	// advances p over one record, false if it cannot be followed
+	private boolean record() throws IOException {
+		long children = 0;
+		for (int f = 0; f < layout.header.length(); f++) {
+			if (f == layout.countField) {
+				children = count(layout.header.charAt(f));
+				if (children == FAIL) {
+					return false;
+				}
+			} else if (!field(layout.header.charAt(f))) {
+				return false;
+			}
+		}
+		for (long k = 0; k < children; k++) {
+			for (int f = 0; f < layout.child.length(); f++) {
+				if (!field(layout.child.charAt(f))) {
+					return false;
+				}
+			}
+		}
+		return true;
+	}
+	
+	private boolean field(char kind) throws IOException {
+		return kind == 'T' ? token() : line();
+	}
+	
+	// a count field, parsed like the mains do, or FAIL
+	private long count(char kind) throws IOException {
+		if (kind == 'L') {
+			int from = p;
+			if (!line()) {
+				return FAIL;
+			}
+			try {
+				return Integer.parseInt(new String(data, from, lineEnd - from, StandardCharsets.ISO_8859_1));
+			} catch (NumberFormatException e) {
+				return FAIL;
+			}
+		}
+		if (!token()) {
+			return FAIL;
+		}
+		int i = tokenStart;
+		boolean neg = false;
+		if (i < tokenEnd && (data[i] == '-' || data[i] == '+')) {
+			neg = data[i] == '-';
+			i++;
+		}
+		if (i == tokenEnd) {
+			return FAIL;
+		}
+		long v = 0;
+		for (; i < tokenEnd; i++) {
+			int d = data[i] - '0';
+			if (d < 0 || d > 9) {
+				return FAIL;
+			}
+			v = v * 10 + d;
+			if (v > 1L + Integer.MAX_VALUE) {
+				return FAIL;
+			}
+		}
+		v = neg ? -v : v;
+		return v > Integer.MAX_VALUE ? FAIL : v;
+	}
+	
+	// nextInt/nextDouble + nextLine: skip whitespace, a token, then the rest of its line
+	private boolean token() throws IOException {
+		while (true) {
+			if (!ensure(p)) {
+				return false;
+			}
+			if (!isSpace(data[p])) {
+				break;
+			}
+			p++;
+		}
+		tokenStart = p;
+		while (ensure(p) && !isSpace(data[p])) {
+			p++;
+		}
+		tokenEnd = p;
+		// nextLine right at the end of the input throws
+		return ensure(p) && line();
+	}
+	
+	// nextLine: up to and over the next \n, \r\n or \r; false if no input is left
+	private boolean line() throws IOException {
+		if (!ensure(p)) {
+			return false;
+		}
+		while (ensure(p)) {
+			byte b = data[p];
+			if (b == '\n' || b == '\r') {
+				lineEnd = p++;
+				if (b == '\r' && ensure(p) && data[p] == '\n') {
+					p++;
+				}
+				return true;
+			}
+			p++;
+		}
+		lineEnd = p;
+		return true;
+	}
+	
+	// true if data[q] is available, reading more input as needed
+	private boolean ensure(int q) throws IOException {
+		while (q >= limit) {
+			if (eof) {
+				return false;
+			}
+			if (limit == data.length) {
+				data = Arrays.copyOf(data, data.length * 2);
+			}
+			int r = channel.read(ByteBuffer.wrap(data, limit, Math.min(CHUNK, data.length - limit)));
+			if (r < 0) {
+				eof = true;
+			} else {
+				limit += r;
+			}
+		}
+		return true;
+	}
+	
+	// hands data[start .. p) to a worker and moves the unsplit bytes to the front
+	private void emit(int records) throws InterruptedException {
+		byte[] batch = Arrays.copyOfRange(data, start, p);
+		System.arraycopy(data, p, data, 0, limit - p);
+		limit -= p;
+		p = 0;
+		start = 0;
+		FutureTask<ArrayList<T>> task = new FutureTask<>(() -> {
+			FastReader sc = new FastReader(batch, 0, batch.length);
+			ArrayList<T> list = new ArrayList<>(records);
+			for (int i = 0; i < records; i++) {
+				list.add(parser.read(sc));
+			}
+			return list;
+		});
+		pending.put(task);
+		pool.execute(task);
+	}
+	
+	private static boolean isSpace(byte b) {
+		return b == ' ' || b == '\n' || b == '\r' || b == '\t' || b == '\f' || b == 0x0B || (b >= 0x1C && b <= 0x1F);
+	}
+}
@@ -0,0 +1,279 @@
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.nio.ByteBuffer;
+import java.nio.MappedByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Path;
+import java.nio.file.StandardOpenOption;
+import java.util.ArrayList;
+import java.util.HashMap;
+
+// Binary snapshot of a loaded PRA dataset, so repeated runs over the same
+// input skip text parsing. Written once with --save-snapshot <file>, then
+// loaded with --snapshot <file> (stdin then only holds the query lines).
+// This class only knows the file format; each PRA0x reads and writes its own
+// records with Writer and Reader (PRA0x.saveSnapshot/readSnapshot), so the
+// model classes stay private to their source files.
+//
+// Layout (big endian):
+//   int magic, int version, int kind (1-5 = PRA01-PRA05), long tablePosition
+//   int parents, then per parent its fields and children, strings as table ids
+//   int stringCount, long[stringCount + 1] offsets, UTF-8 bytes   (string table)
+//
+// The records are streamed to the file in CHUNK-sized writes and the string
+// table follows them, so writing never holds the records in memory. Loading
+// maps the file in windows of at most WINDOW bytes and reads the fields in
+// place, so neither side is limited to 2 GB. Each distinct string is decoded
+// once, on first use, and shared by every record that uses it.
+class Snapshot {
+	
+	static final int MAGIC = 0x50524153; // "PRAS"
+	static final int VERSION = 2;
+	static final int CHUNK = 1 << 20;
+	static final long WINDOW = 1 << 30;
+	private static final int HEADER = 20;
+	
+	// Streams the records to file, strings as ids; finish() appends the string table
+	static final class Writer implements AutoCloseable {
+		private final FileChannel ch;
+		private final HashMap<String, Integer> ids = new HashMap<>();
+		private final ArrayList<String> strings = new ArrayList<>();
+		private final ByteBuffer out;
+		
+		Writer(Path file, int kind) {
+			this(file, kind, CHUNK);
+		}
+		
+		Writer(Path file, int kind, int chunk) {
+			try {
+				ch = FileChannel.open(file, StandardOpenOption.CREATE, StandardOpenOption.WRITE,
+						StandardOpenOption.TRUNCATE_EXISTING);
+			} catch (IOException e) {
+				throw new UncheckedIOException(e);
+			}
+			out = ByteBuffer.allocate(Math.max(chunk, HEADER));
+			// tablePosition stays 0 until finish(), so an unfinished file is rejected
+			out.putInt(MAGIC).putInt(VERSION).putInt(kind).putLong(0);
+		}
+		
+		void i(int v) {
+			room(4);
+			out.putInt(v);
+		}
+		
+		void d(double v) {
+			room(8);
+			out.putDouble(v);
+		}
+		
+		void s(String v) {
+			Integer id = ids.get(v);
+			if (id == null) {
+				id = strings.size();
+				ids.put(v, id);
+				strings.add(v);
+			}
+			i(id);
+		}
+		
+		private void l(long v) {
+			room(8);
+			out.putLong(v);
+		}
+		
+		private void room(int n) {
+			if (out.remaining() < n) {
+				drain();
+			}
+		}
+		
+		private void drain() {
+			try {
+				out.flip();
+				while (out.hasRemaining()) {
+					ch.write(out);
+				}
+				out.clear();
+			} catch (IOException e) {
+				throw new UncheckedIOException(e);
+			}
+		}
+		
+		// Append the string table and fill in its position
+		void finish() {
+			drain();
+			try {
+				long table = ch.position();
+				byte[][] bytes = new byte[strings.size()][];
+				i(strings.size());
+				long off = 0;
+				l(off);
+				for (int k = 0; k < bytes.length; k++) {
+					bytes[k] = strings.get(k).getBytes(StandardCharsets.UTF_8);
+					off += bytes[k].length;
+					l(off);
+				}
+				for (byte[] b : bytes) {
+					for (int from = 0; from < b.length; ) {
+						room(1);
+						int n = Math.min(out.remaining(), b.length - from);
+						out.put(b, from, n);
+						from += n;
+					}
+				}
+				drain();
+				ByteBuffer pos = ByteBuffer.allocate(8).putLong(0, table);
+				while (pos.hasRemaining()) {
+					ch.write(pos, 12 + pos.position());
+				}
+			} catch (IOException e) {
+				throw new UncheckedIOException(e);
+			}
+		}
+		
+		@Override
+		public void close() {
+			try {
+				ch.close();
+			} catch (IOException e) {
+				throw new UncheckedIOException(e);
+			}
+		}
+	}
+	
+	static final class Reader implements AutoCloseable {
+		private final FileChannel ch;
+		private final Window data;    // the records, read in order through in
+		private final Window table;   // string offsets and bytes, read on first use of a string
+		private final long offsets;   // file position of the offsets
+		private final long bytes;     // file position of the string bytes
+		private final String[] strings;
+		private MappedByteBuffer in;
+		
+		Reader(Path file, int kind) {
+			this(file, kind, WINDOW);
+		}
+		
+		Reader(Path file, int kind, long window) {
+			long size;
+			try {
+				ch = FileChannel.open(file, StandardOpenOption.READ);
+				size = ch.size();
+			} catch (IOException e) {
+				throw new UncheckedIOException(e);
+			}
+			try {
+				data = new Window(ch, size, window);
+				table = new Window(ch, size, window);
+				if (size < HEADER || data.getInt(0) != MAGIC || data.getInt(4) != VERSION || data.getInt(8) != kind) {
+					throw new IllegalArgumentException(file + " is not a PRA0" + kind + " snapshot");
+				}
+				long tablePosition = data.getLong(12);
+				if (tablePosition < HEADER || tablePosition > size - 12) {
+					throw new IllegalArgumentException(file + " is an incomplete snapshot");
+				}
+				strings = new String[table.getInt(tablePosition)];
+				offsets = tablePosition + 4;
+				bytes = offsets + 8L * (strings.length + 1);
+				in = data.at(HEADER, 0);
+				in.position(HEADER); // the window starts at 0, where the header was read
+			} catch (RuntimeException e) {
+				close();
+				throw e;
+			}
+		}
+		
+		int i() {
+			if (in.remaining() < 4) {
+				next(4);
+			}
+			return in.getInt();
+		}
+		
+		double d() {
+			if (in.remaining() < 8) {
+				next(8);
+			}
+			return in.getDouble();
+		}
+		
+		// map the window starting at the next unread byte
+		private void next(int n) {
+			long pos = data.start + in.position();
+			in = data.at(pos, n);
+			in.position(0);
+		}
+		
+		String s() {
+			int id = i();
+			String v = strings[id];
+			if (v == null) {
+				long from = table.getLong(offsets + 8L * id);
+				long to = table.getLong(offsets + 8L * id + 8);
+				byte[] b = new byte[Math.toIntExact(to - from)];
+				table.get(bytes + from, b);
+				v = new String(b, StandardCharsets.UTF_8);
+				strings[id] = v;
+			}
+			return v;
+		}
+		
+		@Override
+		public void close() {
+			try {
+				ch.close();
+			} catch (IOException e) {
+				throw new UncheckedIOException(e);
+			}
+		}
+	}
+	
+	// Random access to a file through one read-only mapping of at most window
+	// bytes, moved to start at the requested position when it falls outside
+	private static final class Window {
+		private final FileChannel ch;
+		private final long size;
+		private final long window;
+		private MappedByteBuffer buf;
+		private long start;
+		
+		Window(FileChannel ch, long size, long window) {
+			this.ch = ch;
+			this.size = size;
+			this.window = Math.min(window, Integer.MAX_VALUE);
+		}
+		
+		int getInt(long pos) {
+			return at(pos, 4).getInt((int) (pos - start));
+		}
+		
+		long getLong(long pos) {
+			return at(pos, 8).getLong((int) (pos - start));
+		}
+		
+		void get(long pos, byte[] b) {
+			for (int done = 0; done < b.length; ) {
+				int n = (int) Math.min(b.length - done, window);
+				at(pos + done, n).get((int) (pos + done - start), b, done, n);
+				done += n;
+			}
+		}
+		
+		// the mapping, holding [pos, pos + n) from index pos - start on
+		MappedByteBuffer at(long pos, int n) {
+			if (buf == null || pos < start || pos + n > start + buf.capacity()) {
+				if (pos < 0 || pos + n > size) {
+					throw new IllegalArgumentException("snapshot is truncated");
+				}
+				try {
+					buf = ch.map(FileChannel.MapMode.READ_ONLY, pos, Math.min(Math.max(window, n), size - pos));
+				} catch (IOException e) {
+					throw new UncheckedIOException(e);
+				}
+				start = pos;
+			}
+			return buf;
+		}
+	}
+}
@@ -0,0 +1,28 @@
+import java.util.ArrayList;
+import java.util.HashMap;
+
+// String <-> dense int id, ids given in first-seen order. Used by the
+// columnar layouts to store repeated strings (brands, names) as ints.
+class StringDictionary {
+	
+	private final HashMap<String, Integer> ids = new HashMap<>();
+	private final ArrayList<String> values = new ArrayList<>();
+	
+	public int intern(String s) {
+		Integer id = ids.get(s);
+		if (id == null) {
+			id = values.size();
+			ids.put(s, id);
+			values.add(s);
+		}
+		return id;
+	}
+	
+	public String get(int id) {
+		return values.get(id);
+	}
+	
+	public int size() {
+		return values.size();
+	}
+}
@@ -0,0 +1,145 @@
+import static org.junit.jupiter.api.Assertions.assertArrayEquals;
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Comparator;
+import java.util.List;
+import java.util.Random;
+import java.util.stream.LongStream;
+
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.params.ParameterizedTest;
+import org.junit.jupiter.params.provider.MethodSource;
+
+// FairyBoard (java PRA05 --multi) against a brute-force model: random
+// fairies, then a random mix of add, top, hardest and ttype queries. The
+// model recomputes every answer from plain lists, ranking by task total
+// (highest first, earlier input first on ties).
+class FairyBoardTest {
+	
+	private static final String[] TYPES = {"a", "B", "b", "water", "Light"};
+	
+	static LongStream seeds() {
+		return LongStream.range(0, 60);
+	}
+	
+	@ParameterizedTest
+	@MethodSource("seeds")
+	void boardMatchesTheModel(long seed) {
+		Random r = new Random(seed);
+		int n = r.nextInt(41);
+		List<String> names = new ArrayList<>();
+		List<String> types = new ArrayList<>();
+		List<List<Integer>> tasks = new ArrayList<>();
+		List<String> input = new ArrayList<>();
+		input.add(Integer.toString(n));
+		for (int i = 0; i < n; i++) {
+			names.add("f" + i);
+			types.add(TYPES[r.nextInt(TYPES.length)]);
+			List<Integer> t = new ArrayList<>();
+			for (int k = r.nextInt(5); k > 0; k--) {
+				t.add(r.nextInt(26) - 5);
+			}
+			tasks.add(t);
+			input.addAll(List.of(names.get(i), types.get(i), "1.5", Integer.toString(t.size())));
+			for (int task : t) {
+				input.add(Integer.toString(task));
+			}
+		}
+		
+		List<String> expected = new ArrayList<>();
+		for (int q = 0; q < 30; q++) {
+			double c = r.nextDouble();
+			if (c < 0.3 && n > 0) {
+				int i = r.nextInt(n);
+				int task = r.nextInt(36) - 5;
+				input.add("add " + (i + 1) + " " + task);
+				tasks.get(i).add(task);
+			} else if (c < 0.5) {
+				int k = r.nextInt(7);
+				input.add("top " + k);
+				Integer[] order = new Integer[n];
+				for (int i = 0; i < n; i++) {
+					order[i] = i;
+				}
+				// stable, so ties stay in input order
+				Arrays.sort(order, Comparator.comparingLong(i -> -total(tasks.get(i))));
+				for (int i = 0; i < Math.min(k, n); i++) {
+					expected.add(names.get(order[i]) + " " + total(tasks.get(order[i])));
+				}
+			} else if (c < 0.7) {
+				input.add("hardest");
+				expected.add(hardest(names, tasks));
+			} else {
+				String type = r.nextInt(7) == 0 ? "zz" : r.nextInt(6) == 0 ? "LIGHT" : TYPES[r.nextInt(TYPES.length)];
+				input.add(type);
+				int before = expected.size();
+				for (int i = 0; i < n; i++) {
+					if (types.get(i).equalsIgnoreCase(type)) {
+						expected.add(names.get(i));
+					}
+				}
+				if (expected.size() == before) {
+					expected.add("No Fairies Found");
+				}
+			}
+		}
+		
+		String printed = Programs.run(5, String.join("\n", input) + "\n", "--multi");
+		assertEquals(expected, printed.lines().toList(), "seed " + seed);
+	}
+	
+	@Test
+	void addTaskRejectsAnIndexOffTheBoard() {
+		ArrayList<Fairy> list = new ArrayList<>(List.of(new Fairy("f0", "a", 1.5, 1, new int[] {3})));
+		FairyBoard board = new FairyBoard(list);
+		assertThrows(IllegalArgumentException.class, () -> board.addTask(1, 5));
+		assertThrows(IllegalArgumentException.class, () -> board.addTask(-1, 5));
+		board.addTask(0, 5);
+		assertEquals(8, list.get(0).getTotal());
+	}
+	
+	@Test
+	void addIsCheckedAgainstTheFairyCount() {
+		String printed = Programs.run(5, "1\nf0\na\n1.5\n1\n3\nadd 2 5\n", "--multi");
+		assertEquals("! java.lang.IllegalArgumentException: add i must be between 1 and 1: add 2 5", printed);
+	}
+	
+	@Test
+	void dailyTasksAreACopy() {
+		Fairy f = new Fairy("f0", "a", 1.5, 2, new int[] {3, 4});
+		f.addTask(5);
+		int[] tasks = f.getDailytasks();
+		assertArrayEquals(new int[] {3, 4, 5}, tasks);
+		tasks[0] = 100;
+		assertEquals(3, f.getTask(0));
+		assertEquals(12, f.getTotal());
+		assertThrows(IndexOutOfBoundsException.class, () -> f.getTask(3));
+	}
+	
+	// the first fairy with the highest total above 0, "" if there is none
+	private static String hardest(List<String> names, List<List<Integer>> tasks) {
+		if (tasks.stream().allMatch(List::isEmpty)) {
+			return "No Task Data Available";
+		}
+		long best = 0;
+		String name = "";
+		for (int i = 0; i < names.size(); i++) {
+			if (total(tasks.get(i)) > best) {
+				best = total(tasks.get(i));
+				name = names.get(i);
+			}
+		}
+		return name;
+	}
+	
+	private static long total(List<Integer> tasks) {
+		long sum = 0;
+		for (int t : tasks) {
+			sum += t;
+		}
+		return sum;
+	}
+}
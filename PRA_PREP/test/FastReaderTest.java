@@ -0,0 +1,121 @@
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+import java.io.ByteArrayInputStream;
+import java.io.InputStream;
+import java.nio.charset.StandardCharsets;
+import java.util.InputMismatchException;
+import java.util.NoSuchElementException;
+import java.util.Scanner;
+
+import org.junit.jupiter.api.Test;
+
+class FastReaderTest {
+	
+	private static FastReader reader(String s) {
+		return new FastReader(new ByteArrayInputStream(s.getBytes(StandardCharsets.ISO_8859_1)));
+	}
+	
+	// an input stream that hands out one byte per read, so every token and line crosses a fill()
+	private static FastReader trickle(String s) {
+		InputStream in = new ByteArrayInputStream(s.getBytes(StandardCharsets.ISO_8859_1)) {
+			@Override
+			public synchronized int read(byte[] b, int off, int len) {
+				return super.read(b, off, Math.min(len, 1));
+			}
+		};
+		return new FastReader(in);
+	}
+	
+	@Test
+	void readsLikeScannerOnTheProgramFormats() {
+		String input = "2\nAlice\n30\n150.5\n  -7 \r\nBob Smith\r\n+4\n\n1e3\nlast";
+		for (FastReader sc : new FastReader[] {reader(input), trickle(input)}) {
+			Scanner expected = new Scanner(input);
+			assertEquals(expected.nextInt(), sc.nextInt());
+			assertEquals(expected.nextLine(), sc.nextLine());
+			assertEquals(expected.nextLine(), sc.nextLine());
+			assertEquals(expected.nextInt(), sc.nextInt());
+			assertEquals(expected.nextDouble(), sc.nextDouble());
+			assertEquals(expected.nextInt(), sc.nextInt());
+			assertEquals(expected.nextLine(), sc.nextLine());
+			assertEquals(expected.nextLine(), sc.nextLine());
+			assertEquals(expected.nextInt(), sc.nextInt());
+			assertEquals(expected.nextLine(), sc.nextLine());
+			assertEquals(expected.nextLine(), sc.nextLine());
+			assertEquals(expected.nextDouble(), sc.nextDouble());
+			assertEquals(expected.nextLine(), sc.nextLine());
+			assertEquals(expected.nextLine(), sc.nextLine());
+			assertFalse(sc.hasNextLine());
+		}
+	}
+	
+	@Test
+	void crOnlyLineEndings() {
+		FastReader sc = reader("1\rab\r\rc");
+		assertEquals(1, sc.nextInt());
+		assertEquals("", sc.nextLine());
+		assertEquals("ab", sc.nextLine());
+		assertEquals("", sc.nextLine());
+		assertEquals("c", sc.nextLine());
+		assertFalse(sc.hasNextLine());
+	}
+	
+	@Test
+	void linesAndTokensLongerThanTheBuffers() {
+		String line = "x".repeat(200_000);
+		String digits = "0".repeat(100) + "42";
+		FastReader sc = reader(line + "\n" + digits + "\n" + line);
+		assertEquals(line, sc.nextLine());
+		assertEquals(42, sc.nextInt());
+		assertEquals("", sc.nextLine());
+		assertEquals(line, sc.nextLine());
+	}
+	
+	@Test
+	void intRange() {
+		FastReader sc = reader("2147483647 -2147483648 2147483648 -2147483649 12a - 3.5");
+		assertEquals(Integer.MAX_VALUE, sc.nextInt());
+		assertEquals(Integer.MIN_VALUE, sc.nextInt());
+		assertThrows(InputMismatchException.class, sc::nextInt);
+		assertThrows(InputMismatchException.class, sc::nextInt);
+		assertThrows(InputMismatchException.class, sc::nextInt);
+		assertThrows(InputMismatchException.class, sc::nextInt);
+		assertThrows(InputMismatchException.class, sc::nextInt);
+	}
+	
+	@Test
+	void doublesMatchDoubleParseDouble() {
+		String[] values = {"0", "150.0", "-0.1", "+2.5", "123456789012345", "1234567890123456789",
+				"0.000000000000000000000001", "1e-5", "1E10", "NaN", "-Infinity", "3.", ".5"};
+		FastReader sc = reader(String.join(" ", values));
+		for (String v : values) {
+			assertEquals(Double.parseDouble(v), sc.nextDouble(), v);
+		}
+		assertThrows(InputMismatchException.class, reader("1.2.3")::nextDouble);
+	}
+	
+	@Test
+	void endOfInput() {
+		FastReader sc = reader("5");
+		assertTrue(sc.hasNextLine());
+		assertEquals(5, sc.nextInt());
+		assertFalse(sc.hasNextLine());
+		assertThrows(NoSuchElementException.class, sc::nextLine);
+		assertThrows(NoSuchElementException.class, sc::nextInt);
+	}
+	
+	@Test
+	void byteRangeAndUnread() {
+		byte[] b = "skip|7\nrest|tail".getBytes(StandardCharsets.US_ASCII);
+		FastReader sc = new FastReader(b, 5, 6);
+		assertEquals(7, sc.nextInt());
+		sc.unread("x3".getBytes(StandardCharsets.US_ASCII), 1, 1);
+		assertEquals(3, sc.nextInt());
+		assertEquals("", sc.nextLine());
+		assertEquals("rest", sc.nextLine());
+		assertFalse(sc.hasNextLine());
+	}
+}
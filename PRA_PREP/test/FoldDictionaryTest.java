@@ -0,0 +1,54 @@
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertNotEquals;
+import static org.junit.jupiter.api.Assertions.assertSame;
+
+import org.junit.jupiter.api.Test;
+
+class FoldDictionaryTest {
+	
+	@Test
+	void foldAgreesWithEqualsIgnoreCase() {
+		for (int c = 0; c <= Character.MAX_VALUE; c++) {
+			char a = (char) c;
+			char[] others = {Character.toUpperCase(a), Character.toLowerCase(a), Character.toTitleCase(a),
+					Character.toLowerCase(Character.toUpperCase(a)), (char) (a ^ 0x20), (char) (a + 1)};
+			for (char b : others) {
+				boolean equal = String.valueOf(a).equalsIgnoreCase(String.valueOf(b));
+				assertEquals(equal, CaseFold.fold(a) == CaseFold.fold(b), (int) a + " vs " + (int) b);
+			}
+		}
+	}
+	
+	@Test
+	void foldReturnsTheSameStringWhenNothingChanges() {
+		String s = "already folded";
+		assertSame(s, CaseFold.fold(s));
+		assertEquals("mixed case ß", CaseFold.fold("MiXeD CASE ß"));
+	}
+	
+	@Test
+	void keysAreEqualExactlyWhenTheStringsAreEqualIgnoringCase() {
+		int dior = FoldDictionary.key("test-Dior");
+		assertEquals(dior, FoldDictionary.key("TEST-DIOR"));
+		assertEquals(dior, FoldDictionary.key("test-dior"));
+		assertNotEquals(dior, FoldDictionary.key("test-Gucci"));
+		assertEquals(FoldDictionary.NULL_KEY, FoldDictionary.key(null));
+	}
+	
+	@Test
+	void findNeverAddsAValue() {
+		int size = FoldDictionary.size();
+		assertEquals(FoldDictionary.MISSING, FoldDictionary.find("test-never-keyed"));
+		assertEquals(FoldDictionary.MISSING, FoldDictionary.find("TEST-NEVER-KEYED"));
+		assertEquals(size, FoldDictionary.size());
+		assertEquals(FoldDictionary.NULL_KEY, FoldDictionary.find(null));
+	}
+	
+	@Test
+	void aMissFromFindIsNotKeptOnceTheValueIsAdded() {
+		assertEquals(FoldDictionary.MISSING, FoldDictionary.find("test-Later"));
+		int key = FoldDictionary.key("TEST-LATER");
+		assertEquals(key, FoldDictionary.find("test-Later"));
+		assertEquals(key, FoldDictionary.find("test-later"));
+	}
+}
@@ -0,0 +1,62 @@
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertNull;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+
+import java.util.ArrayList;
+import java.util.List;
+
+import org.junit.jupiter.api.Test;
+
+class IndexedOrdersServiceTest {
+	
+	private static Order order(int id, String name, List<String> products, int... quantities) {
+		return new Order(id, name, new ArrayList<>(products), quantities);
+	}
+	
+	private static ArrayList<Order> orders() {
+		return new ArrayList<>(List.of(
+				order(1, "first", List.of("Mango", "kiwi"), 2, 5),
+				order(2, "second", List.of("KIWI", "Apple", "kiwi"), 7, 7, 1),
+				order(1, "repeat", List.of("Apple"), 9),
+				order(3, "empty", List.of())));
+	}
+	
+	@Test
+	void indexAnswersLikeTheScan() throws ProductNotFoundException {
+		ArrayList<Order> orders = orders();
+		OrdersService scan = new OrdersService();
+		IndexedOrdersService indexed = new IndexedOrdersService(orders);
+		for (int id = 0; id <= 4; id++) {
+			assertEquals(scan.getMaxQuantityProduct(id, orders), indexed.getMaxQuantityProduct(id), "order " + id);
+		}
+		for (String product : new String[] {"kiwi", "APPLE", "mango"}) {
+			assertEquals(scan.getOrdersByProductName(product, orders), indexed.getOrdersByProductName(product), product);
+		}
+		assertThrows(ProductNotFoundException.class, () -> indexed.getOrdersByProductName("Papaya"));
+		assertEquals(false, indexed.printOrdersByProductName("Papaya"));
+		Out.flush();
+	}
+	
+	@Test
+	void theIndexIsASnapshotAndTheListMethodsScan() throws ProductNotFoundException {
+		ArrayList<Order> orders = orders();
+		IndexedOrdersService indexed = new IndexedOrdersService(orders);
+		orders.add(order(4, "later", List.of("Papaya"), 3));
+		orders.remove(0);
+		
+		assertEquals("Papaya", indexed.getMaxQuantityProduct(4, orders));
+		assertEquals("later", indexed.getOrdersByProductName("papaya", orders).get(0).getOrderName());
+		assertEquals("Apple", indexed.getMaxQuantityProduct(1, orders));
+		
+		assertNull(indexed.getMaxQuantityProduct(4));
+		assertEquals("kiwi", indexed.getMaxQuantityProduct(1));
+		Out.flush();
+	}
+	
+	@Test
+	void resultsAreCopies() throws ProductNotFoundException {
+		IndexedOrdersService indexed = new IndexedOrdersService(orders());
+		indexed.getOrdersByProductName("kiwi").clear();
+		assertEquals(2, indexed.getOrdersByProductName("kiwi").size());
+	}
+}
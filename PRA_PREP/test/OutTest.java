@@ -0,0 +1,58 @@
+import static org.junit.jupiter.api.Assertions.assertEquals;
+
+import java.io.ByteArrayOutputStream;
+import java.io.PrintStream;
+import java.nio.charset.StandardCharsets;
+
+import org.junit.jupiter.api.Test;
+
+class OutTest {
+	
+	private static final String NL = System.lineSeparator();
+	
+	// what Out writes to System.out during r, flushed
+	private static String capture(Runnable r) {
+		PrintStream out = System.out;
+		ByteArrayOutputStream printed = new ByteArrayOutputStream();
+		System.setOut(new PrintStream(printed, false, StandardCharsets.ISO_8859_1));
+		try {
+			r.run();
+			Out.flush();
+		} finally {
+			System.setOut(out);
+		}
+		return new String(printed.toByteArray(), StandardCharsets.ISO_8859_1);
+	}
+	
+	@Test
+	void printsWhatPrintlnWould() {
+		String printed = capture(() -> {
+			Out.println("Dior");
+			Out.println(-42L);
+			Out.println("Total: ", 150.5);
+			Out.println("");
+		});
+		assertEquals("Dior" + NL + "-42" + NL + "Total: 150.5" + NL + NL, printed);
+	}
+	
+	@Test
+	void keepsOrderAcrossChunks() {
+		StringBuilder expected = new StringBuilder();
+		String printed = capture(() -> {
+			for (int i = 0; i < 3 * Out.FLUSH_AT / 5; i++) {
+				Out.println("line" + i);
+			}
+		});
+		for (int i = 0; i < 3 * Out.FLUSH_AT / 5; i++) {
+			expected.append("line").append(i).append(NL);
+		}
+		assertEquals(expected.toString(), printed);
+	}
+	
+	@Test
+	void nothingIsLeftForTheNextFlush() {
+		capture(() -> Out.println("first"));
+		assertEquals("", capture(() -> {
+		}));
+	}
+}
@@ -0,0 +1,121 @@
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertNotEquals;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Random;
+
+import org.junit.jupiter.api.Test;
+
+// Children are {key, value} pairs; the list sizes straddle THRESHOLD so both
+// the sequential and the fork-join paths run.
+class ParallelSumTest {
+	
+	private static final int[] PARENTS = {0, 1, ParallelSum.THRESHOLD, ParallelSum.THRESHOLD + 1, 20 * ParallelSum.THRESHOLD + 7};
+	
+	private static List<List<int[]>> parents(int n, Random r) {
+		List<List<int[]>> parents = new ArrayList<>(n);
+		for (int i = 0; i < n; i++) {
+			List<int[]> children = new ArrayList<>();
+			for (int k = r.nextInt(5); k > 0; k--) {
+				children.add(new int[] {r.nextInt(3), r.nextInt(1000)});
+			}
+			parents.add(children);
+		}
+		return parents;
+	}
+	
+	private static long sumChecked(List<List<int[]>> parents, int key) {
+		return ParallelSum.sumChecked(parents, p -> p, c -> c[0], key, c -> c[1]);
+	}
+	
+	@Test
+	void sumCheckedSumsTheMatchingChildren() {
+		Random r = new Random(1);
+		for (int n : PARENTS) {
+			List<List<int[]>> parents = parents(n, r);
+			long expected = 0;
+			for (List<int[]> children : parents) {
+				for (int[] c : children) {
+					if (c[0] == 1) {
+						expected += c[1];
+					}
+				}
+			}
+			assertEquals(expected, sumChecked(parents, 1), n + " parents");
+		}
+	}
+	
+	@Test
+	void sumCheckedGivesUpOnANegativeMatch() {
+		Random r = new Random(2);
+		for (int n : PARENTS) {
+			if (n == 0) {
+				continue;
+			}
+			List<List<int[]>> parents = parents(n, r);
+			parents.get(n - 1).add(new int[] {2, -1});
+			assertEquals(ParallelSum.NEGATIVE, sumChecked(parents, 2), n + " parents");
+			// a negative value under another key does not count
+			assertNotEquals(ParallelSum.NEGATIVE, sumChecked(parents, 1), n + " parents");
+		}
+	}
+	
+	@Test
+	void columnsGiveTheSameSums() {
+		Random r = new Random(3);
+		for (int n : new int[] {0, 10, 16 * ParallelSum.THRESHOLD + 1, 40 * ParallelSum.THRESHOLD}) {
+			int[] keys = new int[n];
+			int[] values = new int[n];
+			long expected = 0;
+			for (int j = 0; j < n; j++) {
+				keys[j] = r.nextInt(3);
+				values[j] = r.nextInt(1000);
+				if (keys[j] == 0) {
+					expected += values[j];
+				}
+			}
+			assertEquals(expected, ParallelSum.sumChecked(keys, 0, values), n + " children");
+			if (n > 0) {
+				keys[n - 1] = 0;
+				values[n - 1] = -5;
+				assertEquals(ParallelSum.NEGATIVE, ParallelSum.sumChecked(keys, 0, values), n + " children");
+			}
+		}
+	}
+	
+	@Test
+	void compensatedSumIsExactWhereANaiveSumIsNot() {
+		List<List<double[]>> parents = List.of(List.of(new double[] {1e16}, new double[] {1}),
+				List.of(new double[] {1}, new double[] {-1e16}));
+		assertEquals(2.0, ParallelSum.sumCompensated(parents, p -> p, c -> c[0]));
+		assertEquals(2.0, ParallelSum.sumCompensated(new int[] {0, 2, 4}, new double[] {1e16, 1, 1, -1e16}));
+	}
+	
+	@Test
+	void everyCompensatedSumGivesTheSameBits() {
+		Random r = new Random(4);
+		for (int n : PARENTS) {
+			List<List<double[]>> parents = new ArrayList<>(n);
+			int[] offsets = new int[n + 1];
+			List<Double> values = new ArrayList<>();
+			ParallelSum.Compensated streamed = new ParallelSum.Compensated();
+			for (int i = 0; i < n; i++) {
+				List<double[]> children = new ArrayList<>();
+				for (int k = r.nextInt(4); k > 0; k--) {
+					double x = (r.nextDouble() - 0.5) * Math.pow(10, r.nextInt(20));
+					children.add(new double[] {x});
+					values.add(x);
+					streamed.add(x);
+				}
+				streamed.endParent();
+				parents.add(children);
+				offsets[i + 1] = values.size();
+			}
+			double[] column = values.stream().mapToDouble(Double::doubleValue).toArray();
+			double sum = ParallelSum.sumCompensated(parents, p -> p, c -> c[0]);
+			assertEquals(sum, ParallelSum.sumCompensated(offsets, column), n + " parents");
+			assertEquals(sum, streamed.sum(), n + " parents");
+		}
+	}
+}
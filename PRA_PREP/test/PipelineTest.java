@@ -0,0 +1,74 @@
+import static org.junit.jupiter.api.Assertions.assertEquals;
+
+import java.nio.charset.StandardCharsets;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+import java.util.Random;
+
+import org.junit.jupiter.params.ParameterizedTest;
+import org.junit.jupiter.params.provider.ValueSource;
+
+import prabench.DataGen;
+
+// --pipeline must print exactly what the sequential parse prints. Besides
+// well-formed DataGen input it gets CRLF and CR-only line endings and inputs
+// the splitter cannot follow (truncated, extra line breaks or blanks, a
+// corrupted byte), which Pipeline hands back to FastReader through unread().
+// The output and the failure, if any, must match.
+class PipelineTest {
+	
+	private static final int MUTATIONS = 4;
+	
+	@ParameterizedTest
+	@ValueSource(ints = {1, 2, 3, 4, 5})
+	void pipelinePrintsWhatTheSequentialParsePrints(int prog) {
+		Random r = new Random(prog);
+		// a small input, and one spanning several pipeline batches
+		for (long children : new long[] {40, 200_000}) {
+			byte[] base = DataGen.generate(prog, children, 1 + prog, 4);
+			List<byte[]> variants = new ArrayList<>();
+			variants.add(base);
+			variants.add(lineEndings(base, "\r\n"));
+			variants.add(lineEndings(base, "\r"));
+			for (int i = 0; i < MUTATIONS; i++) {
+				variants.add(mutate(base, r));
+			}
+			for (int v = 0; v < variants.size(); v++) {
+				byte[] input = variants.get(v);
+				assertEquals(Programs.run(prog, input), Programs.run(prog, input, "--pipeline", "2"),
+						"PRA0" + prog + ", " + children + " children, variant " + v);
+			}
+		}
+	}
+	
+	// one random edit: cut the input short, insert a line break or two blanks, or overwrite a byte
+	private static byte[] mutate(byte[] base, Random r) {
+		int at = r.nextInt(base.length);
+		switch (r.nextInt(4)) {
+		case 0:
+			return Arrays.copyOf(base, at);
+		case 1:
+			return insert(base, at, "\n");
+		case 2:
+			return insert(base, at, "  ");
+		default:
+			byte[] copy = base.clone();
+			copy[at] = (byte) "x9 -\r".charAt(r.nextInt(5));
+			return copy;
+		}
+	}
+	
+	private static byte[] insert(byte[] base, int at, String s) {
+		byte[] add = s.getBytes(StandardCharsets.US_ASCII);
+		byte[] out = new byte[base.length + add.length];
+		System.arraycopy(base, 0, out, 0, at);
+		System.arraycopy(add, 0, out, at, add.length);
+		System.arraycopy(base, at, out, at + add.length, base.length - at);
+		return out;
+	}
+	
+	private static byte[] lineEndings(byte[] base, String nl) {
+		return new String(base, StandardCharsets.US_ASCII).replace("\n", nl).getBytes(StandardCharsets.US_ASCII);
+	}
+}
@@ -0,0 +1,47 @@
+import java.io.ByteArrayInputStream;
+import java.io.ByteArrayOutputStream;
+import java.io.InputStream;
+import java.io.PrintStream;
+import java.nio.charset.StandardCharsets;
+
+// Runs a PRA program in this JVM on the given input and returns what it
+// printed. A run that fails ends with "! " and the exception, which is what
+// java PRA0x would print as the first stderr line.
+final class Programs {
+	
+	private Programs() {
+	}
+	
+	static String run(int prog, byte[] input, String... args) {
+		InputStream in = System.in;
+		PrintStream out = System.out;
+		ByteArrayOutputStream printed = new ByteArrayOutputStream();
+		String failure = "";
+		try {
+			System.setIn(new ByteArrayInputStream(input));
+			System.setOut(new PrintStream(printed, false, StandardCharsets.ISO_8859_1));
+			try {
+				switch (prog) {
+				case 1: PRA01.run(args); break;
+				case 2: PRA02.run(args); break;
+				case 3: PRA03.run(args); break;
+				case 4: PRA04.run(args); break;
+				case 5: PRA05.run(args); break;
+				default: throw new IllegalArgumentException("no PRA0" + prog);
+				}
+			} catch (RuntimeException e) {
+				failure = "! " + e;
+			} finally {
+				Out.flush();
+			}
+		} finally {
+			System.setIn(in);
+			System.setOut(out);
+		}
+		return new String(printed.toByteArray(), StandardCharsets.ISO_8859_1) + failure;
+	}
+	
+	static String run(int prog, String input, String... args) {
+		return run(prog, input.getBytes(StandardCharsets.ISO_8859_1), args);
+	}
+}
@@ -0,0 +1,97 @@
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+
+import java.io.IOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.Arrays;
+import java.util.Random;
+
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+
+// Small chunks and windows so the record stream, the string offsets and
+// single strings all cross write and mapping boundaries.
+class SnapshotTest {
+	
+	private static final int KIND = 3;
+	private static final String[] WORDS = {"", "Dior", "gucci", "ünïcödé ✓", "x".repeat(300)};
+	
+	@TempDir
+	Path dir;
+	
+	// n records of an int, a double and a string, written with the given chunk
+	private Path write(int n, int chunk) {
+		Path file = dir.resolve("s" + n + "-" + chunk + ".bin");
+		Random r = new Random(n);
+		try (Snapshot.Writer w = new Snapshot.Writer(file, KIND, chunk)) {
+			w.i(n);
+			for (int k = 0; k < n; k++) {
+				w.i(r.nextInt());
+				w.d(r.nextDouble());
+				w.s(WORDS[r.nextInt(WORDS.length)] + (k % 7));
+			}
+			w.finish();
+		}
+		return file;
+	}
+	
+	private static void read(Path file, int n, long window) {
+		Random r = new Random(n);
+		try (Snapshot.Reader in = new Snapshot.Reader(file, KIND, window)) {
+			assertEquals(n, in.i());
+			for (int k = 0; k < n; k++) {
+				assertEquals(r.nextInt(), in.i(), "record " + k);
+				assertEquals(r.nextDouble(), in.d(), "record " + k);
+				assertEquals(WORDS[r.nextInt(WORDS.length)] + (k % 7), in.s(), "record " + k);
+			}
+		}
+	}
+	
+	@Test
+	void roundTrip() {
+		for (int n : new int[] {0, 1, 1000}) {
+			read(write(n, Snapshot.CHUNK), n, Snapshot.WINDOW);
+		}
+	}
+	
+	@Test
+	void smallChunksAndWindows() {
+		for (int chunk : new int[] {20, 33, 4096}) {
+			Path file = write(1000, chunk);
+			for (long window : new long[] {64, 77, 1000, 1 << 16}) {
+				read(file, 1000, window);
+			}
+		}
+	}
+	
+	@Test
+	void sameBytesWhateverTheChunk() throws IOException {
+		assertEquals(-1, Files.mismatch(write(500, 20), write(500, Snapshot.CHUNK)));
+	}
+	
+	@Test
+	void rejectsAnotherProgramsSnapshot() {
+		Path file = write(10, Snapshot.CHUNK);
+		assertThrows(IllegalArgumentException.class, () -> new Snapshot.Reader(file, KIND + 1));
+	}
+	
+	@Test
+	void rejectsAnUnfinishedSnapshot() {
+		Path file = dir.resolve("unfinished.bin");
+		try (Snapshot.Writer w = new Snapshot.Writer(file, KIND)) {
+			w.i(1);
+		}
+		assertThrows(IllegalArgumentException.class, () -> new Snapshot.Reader(file, KIND));
+	}
+	
+	@Test
+	void rejectsATruncatedSnapshot() throws IOException {
+		Path file = write(1000, Snapshot.CHUNK);
+		byte[] b = Files.readAllBytes(file);
+		Files.write(file, Arrays.copyOf(b, b.length - 10));
+		assertThrows(IllegalArgumentException.class, () -> read(file, 1000, 64));
+		Files.write(file, Arrays.copyOf(b, 10));
+		assertThrows(IllegalArgumentException.class, () -> new Snapshot.Reader(file, KIND));
+	}
+}
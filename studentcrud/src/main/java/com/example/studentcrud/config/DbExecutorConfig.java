@@ -0,0 +1,30 @@
+package com.example.studentcrud.config;
+
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+import org.springframework.scheduling.concurrent.ThreadPoolTaskExecutor;
+
+import java.util.concurrent.ThreadPoolExecutor;
+
+// Dedicated, bounded pool for the blocking JPA calls behind the async endpoints,
+// so DB work cannot take over the servlet threads or grow without limit.
+// When the pool and its queue are full new queries are rejected (the controller
+// answers 503) rather than run on the servlet thread, which would hold that
+// thread for the whole query and defeat the async endpoints.
+@Configuration
+public class DbExecutorConfig {
+
+    @Bean(name = "dbExecutor")
+    public ThreadPoolTaskExecutor dbExecutor(@Value("${studentcrud.db-executor.threads:8}") int threads,
+                                             @Value("${studentcrud.db-executor.queue-capacity:1000}") int queueCapacity) {
+        ThreadPoolTaskExecutor executor = new ThreadPoolTaskExecutor();
+        executor.setCorePoolSize(threads);
+        executor.setMaxPoolSize(threads);
+        executor.setQueueCapacity(queueCapacity);
+        executor.setThreadNamePrefix("db-");
+        executor.setRejectedExecutionHandler(new ThreadPoolExecutor.AbortPolicy());
+        executor.setWaitForTasksToCompleteOnShutdown(true);
+        return executor;
+    }
+}
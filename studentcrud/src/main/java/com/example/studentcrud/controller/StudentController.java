@@ -3,10 +3,14 @@ package com.example.studentcrud.controller;
 import com.example.studentcrud.entity.Student;
 import com.example.studentcrud.service.StudentService;
 import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.http.HttpStatus;
 import org.springframework.web.bind.annotation.*;
 
 import java.util.List;
+import java.util.Map;
 import java.util.Optional;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.RejectedExecutionException;
 
 // REST Controller to expose Student API
 @RestController
@@ -16,10 +20,11 @@ public class StudentController {
     @Autowired
     private StudentService service;
 
-    // Create a new student (POST)
+    // Create a new student (POST); retries carrying the same Idempotency-Key header are not inserted again
     @PostMapping
-    public Student createStudent(@RequestBody Student student) {
-        return service.saveStudent(student);
+    public Student createStudent(@RequestHeader(value = "Idempotency-Key", required = false) String idempotencyKey,
+                                 @RequestBody Student student) {
+        return service.saveStudent(student, idempotencyKey);
     }
 
     // Update an existing student (PUT)
@@ -34,12 +39,49 @@ public class StudentController {
         return service.getAllStudents();
     }
 
+    // Search students by name, e.g. /api/students/search?q=ali (GET)
+    @GetMapping("/search")
+    public List<Student> searchStudents(@RequestParam String q,
+                                        @RequestParam(defaultValue = "10") int limit) {
+        return service.searchStudents(q, limit);
+    }
+
+    // Name search index size and memory use (GET)
+    @GetMapping("/search/stats")
+    public Map<String, Long> getSearchIndexStats() {
+        return service.getSearchIndexStats();
+    }
+
     // Get student by ID (GET)
     @GetMapping("/{id}")
     public Optional<Student> getStudent(@PathVariable Long id) {
         return service.getStudentById(id);
     }
 
+    // Async variants of the two reads (GET); the request thread is released while the DB query runs
+    @GetMapping("/async")
+    public CompletableFuture<List<Student>> getAllStudentsAsync() {
+        return service.getAllStudentsAsync();
+    }
+
+    @GetMapping("/async/{id}")
+    public CompletableFuture<Optional<Student>> getStudentAsync(@PathVariable Long id) {
+        return service.getStudentByIdAsync(id);
+    }
+
+    // The DB pool and its queue are full: ask the client to retry instead of queueing more work
+    @ExceptionHandler(RejectedExecutionException.class)
+    @ResponseStatus(HttpStatus.SERVICE_UNAVAILABLE)
+    public String dbBusy() {
+        return "Too many database queries pending, retry later";
+    }
+
+    // By-id lookups, DB loads and lookups coalesced into another request's load (GET)
+    @GetMapping("/lookups/stats")
+    public Map<String, Long> getLookupStats() {
+        return service.getLookupStats();
+    }
+
     // Delete student by ID (DELETE)
     @DeleteMapping("/{id}")
     public String deleteStudent(@PathVariable Long id) {
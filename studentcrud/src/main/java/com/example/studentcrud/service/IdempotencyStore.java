@@ -0,0 +1,109 @@
+package com.example.studentcrud.service;
+
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+
+import java.util.Iterator;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentLinkedQueue;
+import java.util.function.Supplier;
+
+// Remembers the result of a request per Idempotency-Key, so client retries
+// get the original response instead of running the action again.
+// Keys expire after a TTL and the number of keys is bounded (oldest evicted first).
+// Keys whose action is still running are never evicted, so a concurrent duplicate
+// always waits for the running action instead of starting a second one.
+@Component
+public class IdempotencyStore {
+
+    private final long ttlNanos;
+    private final int maxKeys;
+
+    private final ConcurrentHashMap<String, Entry> entries = new ConcurrentHashMap<>();
+    // Insertion order; with a fixed TTL this is also expiry order.
+    // Holds the entries in the map, plus replaced expired ones until the next evict,
+    // so it is bounded like the map
+    private final ConcurrentLinkedQueue<Entry> order = new ConcurrentLinkedQueue<>();
+
+    public IdempotencyStore(@Value("${studentcrud.idempotency.ttl-seconds:600}") long ttlSeconds,
+                            @Value("${studentcrud.idempotency.max-keys:10000}") int maxKeys) {
+        this.ttlNanos = ttlSeconds * 1_000_000_000L;
+        this.maxKeys = maxKeys;
+    }
+
+    // Run action once per key. A concurrent call with the same key waits for the
+    // first one; later calls get its result. Failures are not remembered.
+    @SuppressWarnings("unchecked")
+    public <T> T execute(String key, Supplier<T> action) {
+        long now = System.nanoTime();
+        evict(now);
+
+        Entry mine = new Entry(key, now + ttlNanos);
+        while (true) {
+            Entry existing = entries.putIfAbsent(key, mine);
+            if (existing == null) {
+                break;
+            }
+            if (!existing.isExpired(now) || !existing.result.isDone()) {
+                return (T) InFlight.await(existing.result);
+            }
+            if (entries.replace(key, existing, mine)) {
+                break;
+            }
+        }
+        order.add(mine);
+        evict(now);
+
+        // failures are not remembered, and waiters must see them or they would block until the key expires
+        return (T) InFlight.run(mine.result, action, () -> forget(mine), true);
+    }
+
+    public int size() {
+        return entries.size();
+    }
+
+    // Entries waiting in the eviction queue
+    int queued() {
+        return order.size();
+    }
+
+    // Drop a failed entry. Linear in the queue, which only holds remembered keys
+    private void forget(Entry e) {
+        entries.remove(e.key, e);
+        order.remove(e);
+    }
+
+    // Drop expired keys, then the oldest ones while over the limit.
+    // Running entries are skipped, so with more than maxKeys actions in flight the
+    // store holds more keys until they finish.
+    private void evict(long now) {
+        Iterator<Entry> it = order.iterator();
+        while (it.hasNext()) {
+            Entry e = it.next();
+            if (!e.isExpired(now) && entries.size() <= maxKeys) {
+                break;
+            }
+            if (!e.result.isDone()) {
+                continue;
+            }
+            it.remove();
+            entries.remove(e.key, e);
+        }
+    }
+
+    private static final class Entry {
+        final String key;
+        final long expiresAt;
+        final CompletableFuture<Object> result = new CompletableFuture<>();
+
+        Entry(String key, long expiresAt) {
+            this.key = key;
+            this.expiresAt = expiresAt;
+        }
+
+        boolean isExpired(long now) {
+            return now - expiresAt > 0;
+        }
+    }
+}
@@ -0,0 +1,54 @@
+package com.example.studentcrud.service;
+
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CompletionException;
+import java.util.function.Supplier;
+
+// Single-flight plumbing shared by IdempotencyStore and StudentLookupCoalescer.
+// The caller that registered a future runs the work and completes it; everyone
+// who found that future registered waits for the same outcome.
+final class InFlight {
+
+    private InFlight() {
+    }
+
+    // Complete result with the outcome of work. unregister runs before anyone is
+    // woken: always after a failure (failures are never shared with later callers),
+    // after a success only if keep is false. Does not throw; the outcome is in result.
+    static <T> void complete(CompletableFuture<T> result, Supplier<? extends T> work,
+                             Runnable unregister, boolean keep) {
+        T value;
+        try {
+            value = work.get();
+        } catch (RuntimeException | Error e) {
+            unregister.run();
+            result.completeExceptionally(e);
+            return;
+        }
+        if (!keep) {
+            unregister.run();
+        }
+        result.complete(value);
+    }
+
+    // complete in the calling thread, then return the value or rethrow the failure
+    static <T> T run(CompletableFuture<T> result, Supplier<? extends T> work, Runnable unregister, boolean keep) {
+        complete(result, work, unregister, keep);
+        return await(result);
+    }
+
+    // Wait for the outcome; a RuntimeException or Error from the work is rethrown as is
+    static <T> T await(CompletableFuture<T> result) {
+        try {
+            return result.join();
+        } catch (CompletionException e) {
+            if (e.getCause() instanceof RuntimeException cause) {
+                throw cause;
+            }
+            if (e.getCause() instanceof Error cause) {
+                throw cause;
+            }
+            throw e;
+        }
+    }
+}
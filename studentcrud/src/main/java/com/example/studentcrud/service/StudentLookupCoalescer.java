@@ -0,0 +1,87 @@
+package com.example.studentcrud.service;
+
+import com.example.studentcrud.entity.Student;
+import org.springframework.stereotype.Component;
+
+import java.util.LinkedHashMap;
+import java.util.Map;
+import java.util.Optional;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.Executor;
+import java.util.concurrent.atomic.LongAdder;
+import java.util.function.Supplier;
+
+// Single-flight loading of students by id: concurrent lookups of the same id
+// share one in-flight DB load instead of each running its own query.
+// Only loads that are still running are shared; nothing is cached afterwards.
+// Callers that join someone else's load get their own copy of the student.
+@Component
+public class StudentLookupCoalescer {
+
+    private final ConcurrentHashMap<Long, CompletableFuture<Optional<Student>>> inFlight = new ConcurrentHashMap<>();
+
+    private final LongAdder lookups = new LongAdder();
+    private final LongAdder loads = new LongAdder();
+    private final LongAdder coalesced = new LongAdder();
+
+    // Run loader in the calling thread, or wait for the load already running for this id.
+    // A failed load is rethrown to everyone waiting on it and is not remembered.
+    public Optional<Student> load(Long id, Supplier<Optional<Student>> loader) {
+        lookups.increment();
+        CompletableFuture<Optional<Student>> mine = new CompletableFuture<>();
+        CompletableFuture<Optional<Student>> running = inFlight.putIfAbsent(id, mine);
+        if (running != null) {
+            coalesced.increment();
+            return copyOf(InFlight.await(running));
+        }
+        loads.increment();
+        return InFlight.run(mine, loader, () -> inFlight.remove(id, mine), false);
+    }
+
+    // Same as load, but a new load runs on executor and nobody blocks
+    public CompletableFuture<Optional<Student>> loadAsync(Long id, Supplier<Optional<Student>> loader,
+                                                          Executor executor) {
+        lookups.increment();
+        CompletableFuture<Optional<Student>> mine = new CompletableFuture<>();
+        CompletableFuture<Optional<Student>> running = inFlight.putIfAbsent(id, mine);
+        if (running != null) {
+            coalesced.increment();
+            return running.thenApply(StudentLookupCoalescer::copyOf);
+        }
+        loads.increment();
+        try {
+            executor.execute(() -> InFlight.complete(mine, loader, () -> inFlight.remove(id, mine), false));
+        } catch (RuntimeException e) {
+            // executor rejected the load
+            inFlight.remove(id, mine);
+            mine.completeExceptionally(e);
+        }
+        // a copy, so a caller cancelling its future cannot fail the others
+        return mine.copy();
+    }
+
+    // After a write, lookups starting now must not join a load that may have read the old row
+    public void forget(Long id) {
+        inFlight.remove(id);
+    }
+
+    // lookups = loads + coalesced; coalesced is the number of DB queries saved
+    public Map<String, Long> stats() {
+        Map<String, Long> stats = new LinkedHashMap<>();
+        stats.put("lookups", lookups.sum());
+        stats.put("loads", loads.sum());
+        stats.put("coalesced", coalesced.sum());
+        stats.put("inFlight", (long) inFlight.size());
+        return stats;
+    }
+
+    // The loaded entity belongs to the loading request; everyone else gets a detached copy
+    private static Optional<Student> copyOf(Optional<Student> student) {
+        return student.map(s -> {
+            Student copy = new Student(s.getName(), s.getEmail(), s.getCourse());
+            copy.setId(s.getId());
+            return copy;
+        });
+    }
+}
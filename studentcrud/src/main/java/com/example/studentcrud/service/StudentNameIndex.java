@@ -0,0 +1,368 @@
+package com.example.studentcrud.service;
+
+import com.example.studentcrud.entity.Student;
+import org.springframework.stereotype.Component;
+
+import java.util.*;
+import java.util.concurrent.locks.ReentrantReadWriteLock;
+
+// In-memory trigram index over Student.name, used for type-ahead search.
+// Kept up to date by StudentService on every create/update/delete.
+@Component
+public class StudentNameIndex {
+
+    // Names are indexed with two leading boundary chars, so 1-2 char queries
+    // become a single "starts with" trigram instead of a full scan
+    private static final char BOUNDARY = '\u0002';
+    // Flag on the trigram a name starts with (trigrams use the low 48 bits),
+    // so longer queries find their prefix matches the same way
+    private static final long START = 1L << 48;
+
+    // Match tiers, best first; an exact match is the shortest prefix match
+    private static final int PREFIX = 1;
+    private static final int WORD_START = 2;
+    private static final int ANYWHERE = 3;
+
+    private final ReentrantReadWriteLock lock = new ReentrantReadWriteLock();
+
+    // trigram (3 chars packed into a long) -> ranks of the students containing it,
+    // sorted shortest name first, so every posting list is already in result order
+    private final Map<Long, Postings> postings = new HashMap<>();
+    private final Map<Long, Integer> slotById = new HashMap<>();
+    private final ArrayList<Student> students = new ArrayList<>();
+    private final ArrayList<String> keys = new ArrayList<>();
+    private int size;
+
+    // Replace the whole index content (used at startup)
+    public void rebuild(Collection<Student> all) {
+        lock.writeLock().lock();
+        try {
+            reset(all);
+        } finally {
+            lock.writeLock().unlock();
+        }
+    }
+
+    // Add or replace a student
+    public void put(Student student) {
+        if (student.getId() == null) {
+            return;
+        }
+        lock.writeLock().lock();
+        try {
+            delete(student.getId());
+            insert(student, true);
+            compactIfSparse();
+        } finally {
+            lock.writeLock().unlock();
+        }
+    }
+
+    public void remove(Long id) {
+        lock.writeLock().lock();
+        try {
+            delete(id);
+            compactIfSparse();
+        } finally {
+            lock.writeLock().unlock();
+        }
+    }
+
+    // Top-K students whose name contains q (case-insensitive).
+    // Queries shorter than 3 chars match name prefixes only.
+    // Ranking: exact match, then prefix, then word start, then anywhere; shorter names first.
+    public List<Student> search(String q, int limit) {
+        String query = fold(q == null ? "" : q.trim());
+        if (query.isEmpty() || limit <= 0) {
+            return List.of();
+        }
+
+        lock.readLock().lock();
+        try {
+            // One pass per tier. Each pass meets its matches in rank order,
+            // so the search stops as soon as limit students are found.
+            List<Student> result = new ArrayList<>(Math.min(limit, 16));
+            collect(prefixGrams(query), query, PREFIX, limit, result);
+            if (query.length() >= 3) {
+                collect(grams(" " + query), query, WORD_START, limit, result);
+                collect(grams(query), query, ANYWHERE, limit, result);
+            }
+            return result;
+        } finally {
+            lock.readLock().unlock();
+        }
+    }
+
+    // Index size and an estimate of its heap footprint
+    public Map<String, Long> stats() {
+        lock.readLock().lock();
+        try {
+            long postingEntries = 0;
+            long bytes = 0;
+            for (Postings p : postings.values()) {
+                postingEntries += p.size;
+                // array header + longs, Postings object, map node + boxed key
+                bytes += 16 + 8L * p.ranks.length + 24 + 48;
+            }
+            for (String key : keys) {
+                if (key != null) {
+                    // String object + byte[] (names are mostly Latin-1)
+                    bytes += 24 + 16 + key.length();
+                }
+            }
+            // slotById node + boxed key/value, list references
+            bytes += (long) size * (48 + 16) + 8L * keys.size() * 2;
+
+            Map<String, Long> stats = new LinkedHashMap<>();
+            stats.put("students", (long) size);
+            stats.put("trigrams", (long) postings.size());
+            stats.put("postings", postingEntries);
+            stats.put("estimatedBytes", bytes);
+            return stats;
+        } finally {
+            lock.readLock().unlock();
+        }
+    }
+
+    private void reset(Collection<Student> all) {
+        postings.clear();
+        slotById.clear();
+        students.clear();
+        keys.clear();
+        size = 0;
+        for (Student s : all) {
+            insert(s, false);
+        }
+        for (Postings p : postings.values()) {
+            p.sort();
+        }
+    }
+
+    // Updates and deletes leave empty slots behind; renumber once they dominate
+    private void compactIfSparse() {
+        if (students.size() > 2 * size + 1024) {
+            List<Student> live = new ArrayList<>(size);
+            for (Student s : students) {
+                if (s != null) {
+                    live.add(s);
+                }
+            }
+            reset(live);
+        }
+    }
+
+    // sorted == false only appends to the posting lists; the caller sorts them afterwards
+    private void insert(Student s, boolean sorted) {
+        String key = fold(s.getName() == null ? "" : s.getName());
+        int slot = students.size();
+        students.add(copyOf(s));
+        keys.add(key);
+        slotById.put(s.getId(), slot);
+        size++;
+
+        long rank = rank(key.length(), slot);
+        for (long g : indexGrams(key)) {
+            Postings p = postings.computeIfAbsent(g, x -> new Postings());
+            if (sorted) {
+                p.add(rank);
+            } else {
+                p.append(rank);
+            }
+        }
+    }
+
+    private void delete(Long id) {
+        Integer slot = slotById.remove(id);
+        if (slot == null) {
+            return;
+        }
+        String key = keys.get(slot);
+        long rank = rank(key.length(), slot);
+        for (long g : indexGrams(key)) {
+            Postings p = postings.get(g);
+            if (p != null && p.remove(rank) && p.size == 0) {
+                postings.remove(g);
+            }
+        }
+        students.set(slot, null);
+        keys.set(slot, null);
+        size--;
+    }
+
+    // Add the students in every posting list of grams whose name matches query in tier
+    private void collect(Set<Long> grams, String query, int tier, int limit, List<Student> result) {
+        if (result.size() >= limit) {
+            return;
+        }
+        Postings[] lists = lookup(grams);
+        if (lists == null) {
+            return;
+        }
+        Arrays.sort(lists, Comparator.comparingInt(p -> p.size));
+
+        Postings smallest = lists[0];
+        int[] cursors = new int[lists.length];
+        for (int i = 0; i < smallest.size; i++) {
+            long rank = smallest.ranks[i];
+            if (!containsAll(lists, cursors, rank)) {
+                continue;
+            }
+            int slot = (int) rank;
+            if (tier(keys.get(slot), query) != tier) {
+                continue; // trigrams present but not contiguous, or found by an earlier pass
+            }
+            result.add(copyOf(students.get(slot)));
+            if (result.size() == limit) {
+                return;
+            }
+        }
+    }
+
+    // Posting lists of all grams, or null if one of them is empty
+    private Postings[] lookup(Set<Long> grams) {
+        Postings[] lists = new Postings[grams.size()];
+        int n = 0;
+        for (long g : grams) {
+            Postings p = postings.get(g);
+            if (p == null) {
+                return null;
+            }
+            lists[n++] = p;
+        }
+        return lists;
+    }
+
+    // Whether lists[1..] all hold rank. Ranks are checked in increasing order,
+    // so each list is searched from where the previous check stopped.
+    private static boolean containsAll(Postings[] lists, int[] cursors, long rank) {
+        for (int i = 1; i < lists.length; i++) {
+            Postings p = lists[i];
+            int pos = p.seek(cursors[i], rank);
+            cursors[i] = pos;
+            if (pos == p.size || p.ranks[pos] != rank) {
+                return false;
+            }
+        }
+        return true;
+    }
+
+    // Tier of the best occurrence of query in key, 0 if there is none
+    private static int tier(String key, String query) {
+        if (key.startsWith(query)) {
+            return PREFIX;
+        }
+        int tier = 0;
+        for (int pos = key.indexOf(query); pos > 0; pos = key.indexOf(query, pos + 1)) {
+            if (key.charAt(pos - 1) == ' ') {
+                return WORD_START;
+            }
+            tier = ANYWHERE;
+        }
+        return tier;
+    }
+
+    // Trigrams a name is indexed under
+    private static Set<Long> indexGrams(String key) {
+        Set<Long> grams = grams("" + BOUNDARY + BOUNDARY + key);
+        if (key.length() >= 3) {
+            grams.add(gram(key, 0) | START);
+        }
+        return grams;
+    }
+
+    // Trigrams of every name starting with query
+    private static Set<Long> prefixGrams(String query) {
+        if (query.length() < 3) {
+            String padded = query.length() == 1 ? "" + BOUNDARY + BOUNDARY + query : BOUNDARY + query;
+            return Set.of(gram(padded, 0));
+        }
+        Set<Long> grams = new LinkedHashSet<>();
+        grams.add(gram(query, 0) | START);
+        for (int i = 1; i + 3 <= query.length(); i++) {
+            grams.add(gram(query, i));
+        }
+        return grams;
+    }
+
+    private static Set<Long> grams(String s) {
+        Set<Long> grams = new LinkedHashSet<>();
+        for (int i = 0; i + 3 <= s.length(); i++) {
+            grams.add(gram(s, i));
+        }
+        return grams;
+    }
+
+    // Shorter names first; the low 32 bits carry the slot so equal lengths keep insertion order
+    private static long rank(int length, int slot) {
+        return ((long) length << 32) | slot;
+    }
+
+    private static long gram(String s, int i) {
+        return ((long) s.charAt(i) << 32) | ((long) s.charAt(i + 1) << 16) | s.charAt(i + 2);
+    }
+
+    private static String fold(String s) {
+        return s.toLowerCase(Locale.ROOT);
+    }
+
+    private static Student copyOf(Student s) {
+        Student copy = new Student(s.getName(), s.getEmail(), s.getCourse());
+        copy.setId(s.getId());
+        return copy;
+    }
+
+    // Growable sorted long array of ranks
+    private static final class Postings {
+        long[] ranks = new long[4];
+        int size;
+
+        // A new slot is the largest, but the name may still sort before longer ones
+        void add(long rank) {
+            int pos = Arrays.binarySearch(ranks, 0, size, rank);
+            if (pos >= 0) {
+                return;
+            }
+            pos = -pos - 1;
+            grow();
+            System.arraycopy(ranks, pos, ranks, pos + 1, size - pos);
+            ranks[pos] = rank;
+            size++;
+        }
+
+        // Unordered add for bulk loading; sort() afterwards
+        void append(long rank) {
+            grow();
+            ranks[size++] = rank;
+        }
+
+        void sort() {
+            Arrays.sort(ranks, 0, size);
+        }
+
+        boolean remove(long rank) {
+            int pos = Arrays.binarySearch(ranks, 0, size, rank);
+            if (pos < 0) {
+                return false;
+            }
+            System.arraycopy(ranks, pos + 1, ranks, pos, size - pos - 1);
+            size--;
+            return true;
+        }
+
+        // First index >= from whose rank is not below rank; doubling steps, then a binary search
+        int seek(int from, long rank) {
+            int step = 1;
+            while (from + step < size && ranks[from + step] < rank) {
+                step <<= 1;
+            }
+            int pos = Arrays.binarySearch(ranks, from, Math.min(from + step + 1, size), rank);
+            return pos >= 0 ? pos : -pos - 1;
+        }
+
+        private void grow() {
+            if (size == ranks.length) {
+                ranks = Arrays.copyOf(ranks, size * 2);
+            }
+        }
+    }
+}
@@ -2,23 +2,70 @@ package com.example.studentcrud.service;
 
 import com.example.studentcrud.entity.Student;
 import com.example.studentcrud.repository.StudentRepository;
+import org.springframework.beans.factory.SmartInitializingSingleton;
 import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Qualifier;
 import org.springframework.stereotype.Service;
 
 import java.util.List;
+import java.util.Map;
 import java.util.Optional;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.Executor;
 
 // This class handles all business logic related to Student
 @Service
-public class StudentService {
+public class StudentService implements SmartInitializingSingleton {
 
     @Autowired
     private StudentRepository repo;
 
+    @Autowired
+    private StudentNameIndex nameIndex;
+
+    @Autowired
+    private StudentSnapshot snapshot;
+
+    @Autowired
+    private IdempotencyStore idempotencyStore;
+
+    @Autowired
+    private StudentLookupCoalescer lookups;
+
+    @Autowired
+    @Qualifier("dbExecutor")
+    private Executor dbExecutor;
+
+    // Load existing students into the name search index (and the read snapshot, if enabled).
+    // Runs once every singleton exists, before the web server starts, so no request can
+    // write between findAll and the rebuild, or read the snapshot before it is loaded
+    @Override
+    public void afterSingletonsInstantiated() {
+        buildNameIndex();
+    }
+
+    private void buildNameIndex() {
+        List<Student> all = repo.findAll();
+        nameIndex.rebuild(all);
+        if (snapshot.isEnabled()) {
+            snapshot.load(all);
+        }
+    }
+
     // Save a new student (CREATE)
     public Student saveStudent(Student student) {
         student.setId(null); // Ensure ID is null so JPA generates it
-        return repo.save(student);
+        Student saved = repo.save(student);
+        afterSave(saved);
+        return saved;
+    }
+
+    // Save a new student once per Idempotency-Key; retries with the same key get the first result
+    public Student saveStudent(Student student, String idempotencyKey) {
+        if (idempotencyKey == null || idempotencyKey.isBlank()) {
+            return saveStudent(student);
+        }
+        return idempotencyStore.execute(idempotencyKey, () -> saveStudent(student));
     }
 
     // Update an existing student (UPDATE)
@@ -34,21 +81,74 @@ public class StudentService {
         existingStudent.setEmail(updatedStudent.getEmail());
         existingStudent.setCourse(updatedStudent.getCourse());
 
-        return repo.save(existingStudent);
+        Student saved = repo.save(existingStudent);
+        afterSave(saved);
+        return saved;
     }
 
     // Get all students
     public List<Student> getAllStudents() {
+        if (snapshot.isEnabled()) {
+            return snapshot.findAll();
+        }
         return repo.findAll();
     }
 
-    // Get student by ID
+    // Get student by ID; concurrent lookups of one id share a single DB query
     public Optional<Student> getStudentById(Long id) {
-        return repo.findById(id);
+        if (snapshot.isEnabled()) {
+            return snapshot.find(id); // in memory already, nothing to coalesce
+        }
+        return lookups.load(id, () -> repo.findById(id));
+    }
+
+    // Async variants: the JPA calls run on the bounded dbExecutor, not the request thread.
+    // When its pool and queue are full they fail with RejectedExecutionException (503)
+    public CompletableFuture<List<Student>> getAllStudentsAsync() {
+        if (snapshot.isEnabled()) {
+            return CompletableFuture.completedFuture(snapshot.findAll());
+        }
+        return CompletableFuture.supplyAsync(repo::findAll, dbExecutor);
+    }
+
+    public CompletableFuture<Optional<Student>> getStudentByIdAsync(Long id) {
+        if (snapshot.isEnabled()) {
+            return CompletableFuture.completedFuture(snapshot.find(id));
+        }
+        return lookups.loadAsync(id, () -> repo.findById(id), dbExecutor);
+    }
+
+    // How many by-id lookups were served by another request's query
+    public Map<String, Long> getLookupStats() {
+        return lookups.stats();
     }
 
     // Delete student by ID
     public void deleteStudent(Long id) {
         repo.deleteById(id);
+        lookups.forget(id);
+        nameIndex.remove(id);
+        if (snapshot.isEnabled()) {
+            snapshot.remove(id);
+        }
+    }
+
+    // Keep the in-memory read structures in step with the DB
+    private void afterSave(Student saved) {
+        lookups.forget(saved.getId());
+        nameIndex.put(saved);
+        if (snapshot.isEnabled()) {
+            snapshot.put(saved);
+        }
+    }
+
+    // Type-ahead search on name, best matches first
+    public List<Student> searchStudents(String q, int limit) {
+        return nameIndex.search(q, Math.min(limit, 100));
+    }
+
+    // Size and memory estimate of the name search index
+    public Map<String, Long> getSearchIndexStats() {
+        return nameIndex.stats();
     }
 }
@@ -0,0 +1,306 @@
+package com.example.studentcrud.service;
+
+import com.example.studentcrud.entity.Student;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+
+import java.nio.ByteBuffer;
+import java.nio.charset.StandardCharsets;
+import java.util.*;
+import java.util.concurrent.locks.ReentrantReadWriteLock;
+
+// Off-heap columnar copy of the student table for read-mostly deployments.
+// Enable with studentcrud.snapshot.enabled=true; StudentService then serves
+// getAllStudents/getStudentById from here and refreshes it on every write.
+//
+// Columns live in direct buffers: id (8 bytes per row) and one (offset, length)
+// pair per string column pointing into a UTF-8 arena. Only the primitive
+// id -> row hash table stays on the heap, as two flat arrays.
+@Component
+public class StudentSnapshot {
+
+    private static final int NULL_LENGTH = -1;
+    private static final int DELETED = -2;
+    private static final int REF_BYTES = 8;
+
+    @Value("${studentcrud.snapshot.enabled:false}")
+    private boolean enabled;
+
+    private final ReentrantReadWriteLock lock = new ReentrantReadWriteLock();
+
+    private ByteBuffer ids = ByteBuffer.allocateDirect(0);
+    private ByteBuffer names = ByteBuffer.allocateDirect(0);
+    private ByteBuffer emails = ByteBuffer.allocateDirect(0);
+    private ByteBuffer courses = ByteBuffer.allocateDirect(0);
+    private ByteBuffer arena = ByteBuffer.allocateDirect(0);
+    private int rows;      // slots used, including deleted ones
+    private int live;      // rows not deleted
+    private int arenaUsed;
+    private int arenaLive; // arena bytes still referenced
+
+    // id -> row, open addressing with linear probing (key 0 = empty, row -1 = removed)
+    private long[] tableKeys = new long[16];
+    private int[] tableRows = new int[16];
+    private int tableUsed; // occupied table slots, including removed ones
+
+    // Scratch buffer for decoding strings, one per request thread
+    private final ThreadLocal<byte[]> scratch = ThreadLocal.withInitial(() -> new byte[256]);
+
+    public boolean isEnabled() {
+        return enabled;
+    }
+
+    // Replace the snapshot content (used at startup)
+    public void load(Collection<Student> all) {
+        lock.writeLock().lock();
+        try {
+            reset(Math.max(all.size(), 16));
+            for (Student s : all) {
+                append(s);
+            }
+        } finally {
+            lock.writeLock().unlock();
+        }
+    }
+
+    // Insert or update one row after a write
+    public void put(Student s) {
+        if (s.getId() == null) {
+            return;
+        }
+        lock.writeLock().lock();
+        try {
+            int row = rowOf(s.getId());
+            if (row < 0) {
+                append(s);
+            } else {
+                arenaLive -= usedBytes(row);
+                setRefs(row, s);
+            }
+            compactIfSparse();
+        } finally {
+            lock.writeLock().unlock();
+        }
+    }
+
+    public void remove(Long id) {
+        lock.writeLock().lock();
+        try {
+            int row = rowOf(id);
+            if (row < 0) {
+                return;
+            }
+            arenaLive -= usedBytes(row);
+            names.putInt(row * REF_BYTES + 4, DELETED);
+            unindex(id);
+            live--;
+            compactIfSparse();
+        } finally {
+            lock.writeLock().unlock();
+        }
+    }
+
+    public Optional<Student> find(Long id) {
+        lock.readLock().lock();
+        try {
+            int row = rowOf(id);
+            return row < 0 ? Optional.empty() : Optional.of(decode(row));
+        } finally {
+            lock.readLock().unlock();
+        }
+    }
+
+    // All rows in insertion (id) order
+    public List<Student> findAll() {
+        lock.readLock().lock();
+        try {
+            List<Student> result = new ArrayList<>(live);
+            for (int row = 0; row < rows; row++) {
+                if (names.getInt(row * REF_BYTES + 4) != DELETED) {
+                    result.add(decode(row));
+                }
+            }
+            return result;
+        } finally {
+            lock.readLock().unlock();
+        }
+    }
+
+    // Row count and off-heap bytes in use
+    public Map<String, Long> stats() {
+        lock.readLock().lock();
+        try {
+            Map<String, Long> stats = new LinkedHashMap<>();
+            stats.put("students", (long) live);
+            stats.put("rows", (long) rows);
+            stats.put("arenaBytes", (long) arenaUsed);
+            stats.put("offHeapBytes", (long) ids.capacity() + names.capacity() + emails.capacity()
+                    + courses.capacity() + arena.capacity());
+            return stats;
+        } finally {
+            lock.readLock().unlock();
+        }
+    }
+
+    private void reset(int capacity) {
+        ids = ByteBuffer.allocateDirect(capacity * 8);
+        names = ByteBuffer.allocateDirect(capacity * REF_BYTES);
+        emails = ByteBuffer.allocateDirect(capacity * REF_BYTES);
+        courses = ByteBuffer.allocateDirect(capacity * REF_BYTES);
+        arena = ByteBuffer.allocateDirect(capacity * 64);
+        rows = 0;
+        live = 0;
+        arenaUsed = 0;
+        arenaLive = 0;
+        int tableSize = Integer.highestOneBit(capacity * 2 - 1) * 2;
+        tableKeys = new long[tableSize];
+        tableRows = new int[tableSize];
+        tableUsed = 0;
+    }
+
+    private void append(Student s) {
+        if (rows * 8 == ids.capacity()) {
+            int capacity = Math.max(rows * 2, 16);
+            ids = grow(ids, capacity * 8);
+            names = grow(names, capacity * REF_BYTES);
+            emails = grow(emails, capacity * REF_BYTES);
+            courses = grow(courses, capacity * REF_BYTES);
+        }
+        int row = rows++;
+        ids.putLong(row * 8, s.getId());
+        setRefs(row, s);
+        index(s.getId(), row);
+        live++;
+    }
+
+    private void setRefs(int row, Student s) {
+        writeString(names, row, s.getName());
+        writeString(emails, row, s.getEmail());
+        writeString(courses, row, s.getCourse());
+    }
+
+    private void writeString(ByteBuffer column, int row, String value) {
+        if (value == null) {
+            column.putInt(row * REF_BYTES, 0);
+            column.putInt(row * REF_BYTES + 4, NULL_LENGTH);
+            return;
+        }
+        byte[] bytes = value.getBytes(StandardCharsets.UTF_8);
+        if (arenaUsed + bytes.length > arena.capacity()) {
+            arena = grow(arena, Math.max(arena.capacity() * 2, arenaUsed + bytes.length));
+        }
+        arena.put(arenaUsed, bytes);
+        column.putInt(row * REF_BYTES, arenaUsed);
+        column.putInt(row * REF_BYTES + 4, bytes.length);
+        arenaUsed += bytes.length;
+        arenaLive += bytes.length;
+    }
+
+    private Student decode(int row) {
+        Student s = new Student(readString(names, row), readString(emails, row), readString(courses, row));
+        s.setId(ids.getLong(row * 8));
+        return s;
+    }
+
+    private String readString(ByteBuffer column, int row) {
+        int length = column.getInt(row * REF_BYTES + 4);
+        if (length == NULL_LENGTH) {
+            return null;
+        }
+        byte[] buf = scratch.get();
+        if (buf.length < length) {
+            buf = new byte[Integer.highestOneBit(length) * 2];
+            scratch.set(buf);
+        }
+        arena.get(column.getInt(row * REF_BYTES), buf, 0, length);
+        return new String(buf, 0, length, StandardCharsets.UTF_8);
+    }
+
+    private int usedBytes(int row) {
+        return Math.max(names.getInt(row * REF_BYTES + 4), 0)
+                + Math.max(emails.getInt(row * REF_BYTES + 4), 0)
+                + Math.max(courses.getInt(row * REF_BYTES + 4), 0);
+    }
+
+    // Updates and deletes leave dead rows and arena bytes behind; rewrite once they dominate
+    private void compactIfSparse() {
+        if (rows > 2 * live + 1024 || arenaUsed > 2 * arenaLive + (1 << 20)) {
+            List<Student> all = new ArrayList<>(live);
+            for (int row = 0; row < rows; row++) {
+                if (names.getInt(row * REF_BYTES + 4) != DELETED) {
+                    all.add(decode(row));
+                }
+            }
+            reset(Math.max(all.size(), 16));
+            for (Student s : all) {
+                append(s);
+            }
+        }
+    }
+
+    private static ByteBuffer grow(ByteBuffer old, int capacity) {
+        ByteBuffer bigger = ByteBuffer.allocateDirect(capacity);
+        bigger.put(0, old, 0, old.capacity());
+        return bigger;
+    }
+
+    private int rowOf(long id) {
+        int mask = tableKeys.length - 1;
+        for (int i = hash(id) & mask; tableKeys[i] != 0; i = (i + 1) & mask) {
+            if (tableKeys[i] == id && tableRows[i] >= 0) {
+                return tableRows[i];
+            }
+        }
+        return -1;
+    }
+
+    private void index(long id, int row) {
+        if ((tableUsed + 1) * 2 > tableKeys.length) {
+            // removed entries are dropped by the rehash, so only grow when live rows need it
+            rehash((live + 1) * 4 > tableKeys.length ? tableKeys.length * 2 : tableKeys.length);
+        }
+        int mask = tableKeys.length - 1;
+        int i = hash(id) & mask;
+        while (tableKeys[i] != 0) {
+            i = (i + 1) & mask;
+        }
+        tableKeys[i] = id;
+        tableRows[i] = row;
+        tableUsed++;
+    }
+
+    private void unindex(long id) {
+        int mask = tableKeys.length - 1;
+        for (int i = hash(id) & mask; tableKeys[i] != 0; i = (i + 1) & mask) {
+            if (tableKeys[i] == id && tableRows[i] >= 0) {
+                tableRows[i] = -1;
+                return;
+            }
+        }
+    }
+
+    private void rehash(int size) {
+        long[] oldKeys = tableKeys;
+        int[] oldRows = tableRows;
+        tableKeys = new long[size];
+        tableRows = new int[size];
+        tableUsed = 0;
+        int mask = size - 1;
+        for (int j = 0; j < oldKeys.length; j++) {
+            if (oldKeys[j] != 0 && oldRows[j] >= 0) {
+                int i = hash(oldKeys[j]) & mask;
+                while (tableKeys[i] != 0) {
+                    i = (i + 1) & mask;
+                }
+                tableKeys[i] = oldKeys[j];
+                tableRows[i] = oldRows[j];
+                tableUsed++;
+            }
+        }
+    }
+
+    private static int hash(long id) {
+        long h = id * 0x9E3779B97F4A7C15L;
+        return (int) (h ^ (h >>> 32));
+    }
+}
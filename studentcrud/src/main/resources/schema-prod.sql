@@ -0,0 +1,10 @@
+-- Student table for the prod profile (spring.jpa.hibernate.ddl-auto=none).
+-- Safe to run on every start: an existing table and its rows are left alone.
+-- Matches the Student entity; written for H2, the driver on the classpath.
+CREATE TABLE IF NOT EXISTS student (
+    id BIGINT GENERATED BY DEFAULT AS IDENTITY,
+    name VARCHAR(255),
+    email VARCHAR(255),
+    course VARCHAR(255),
+    PRIMARY KEY (id)
+);
@@ -0,0 +1,48 @@
+package com.example.studentcrud.service;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.Callable;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.TimeoutException;
+
+// Test helper: a fixed pool of concurrent callers, closed (and interrupted) by
+// try-with-resources. Results are read with a 5 second cap.
+final class Callers implements AutoCloseable {
+
+    private final ExecutorService pool;
+
+    Callers(int threads) {
+        pool = Executors.newFixedThreadPool(threads);
+    }
+
+    <T> Future<T> submit(Callable<T> call) {
+        return pool.submit(call);
+    }
+
+    // call, submitted times times
+    <T> List<Future<T>> submit(int times, Callable<T> call) {
+        List<Future<T>> futures = new ArrayList<>();
+        for (int i = 0; i < times; i++) {
+            futures.add(pool.submit(call));
+        }
+        return futures;
+    }
+
+    ExecutorService executor() {
+        return pool;
+    }
+
+    static <T> T get(Future<T> future) throws InterruptedException, ExecutionException, TimeoutException {
+        return future.get(5, TimeUnit.SECONDS);
+    }
+
+    @Override
+    public void close() {
+        pool.shutdownNow();
+    }
+}
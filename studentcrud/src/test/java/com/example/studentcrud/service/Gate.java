@@ -0,0 +1,38 @@
+package com.example.studentcrud.service;
+
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.TimeUnit;
+
+// Test helper for the single-flight tests: holds running work until the test opens it.
+// Waits are capped at 5 seconds so a broken test fails instead of hanging.
+final class Gate {
+
+    private final CountDownLatch latch;
+
+    Gate() {
+        this(1);
+    }
+
+    // A gate that opens after count calls to open()
+    Gate(int count) {
+        latch = new CountDownLatch(count);
+    }
+
+    void open() {
+        latch.countDown();
+    }
+
+    // For the work being held; an interrupt (pool shutdown) lets it through
+    void pass() {
+        try {
+            latch.await(5, TimeUnit.SECONDS);
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+        }
+    }
+
+    // For the test thread: true once the gate is open
+    boolean awaitOpen() throws InterruptedException {
+        return latch.await(5, TimeUnit.SECONDS);
+    }
+}
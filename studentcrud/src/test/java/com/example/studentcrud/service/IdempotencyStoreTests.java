@@ -0,0 +1,147 @@
+package com.example.studentcrud.service;
+
+import org.junit.jupiter.api.Test;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.UUID;
+import java.util.concurrent.*;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import static com.example.studentcrud.service.Callers.get;
+import static org.junit.jupiter.api.Assertions.*;
+
+class IdempotencyStoreTests {
+
+    @Test
+    void concurrentDuplicatesRunOnce() throws Exception {
+        IdempotencyStore store = new IdempotencyStore(600, 100);
+        AtomicInteger calls = new AtomicInteger();
+        Gate release = new Gate();
+        try (Callers callers = new Callers(8)) {
+            List<Future<Integer>> results = callers.submit(8, () -> store.execute("key-1", () -> {
+                release.pass();
+                return calls.incrementAndGet();
+            }));
+            release.open();
+            for (Future<Integer> result : results) {
+                int value = get(result);
+                assertEquals(1, value);
+            }
+            assertEquals(1, calls.get());
+
+            int replay = store.execute("key-1", calls::incrementAndGet);
+            assertEquals(1, replay);
+        }
+    }
+
+    @Test
+    void failuresAreNotRemembered() {
+        IdempotencyStore store = new IdempotencyStore(600, 100);
+        assertThrows(IllegalStateException.class, () -> store.execute("key-1", () -> {
+            throw new IllegalStateException("db down");
+        }));
+        assertEquals("ok", store.execute("key-1", () -> "ok"));
+    }
+
+    @Test
+    void failedKeysLeaveNothingBehind() {
+        IdempotencyStore store = new IdempotencyStore(600, 2);
+        for (int i = 0; i < 1000; i++) {
+            assertThrows(IllegalStateException.class, () -> store.execute("key-" + UUID.randomUUID(), () -> {
+                throw new IllegalStateException("db down");
+            }));
+        }
+        assertEquals(0, store.size());
+        assertEquals(0, store.queued());
+
+        for (int i = 0; i < 5; i++) {
+            store.execute("key-" + i, () -> "ok");
+        }
+        assertEquals(2, store.size());
+        assertEquals(2, store.queued());
+    }
+
+    @Test
+    void expiredAndOverflowingKeysAreEvicted() {
+        IdempotencyStore expiring = new IdempotencyStore(0, 100);
+        int first = expiring.execute("key-1", () -> 1);
+        int second = expiring.execute("key-1", () -> 2);
+        assertEquals(1, first);
+        assertEquals(2, second);
+
+        IdempotencyStore bounded = new IdempotencyStore(600, 2);
+        for (int i = 0; i < 5; i++) {
+            int value = i;
+            bounded.execute("key-" + i, () -> value);
+        }
+        assertEquals(2, bounded.size());
+        int kept = bounded.execute("key-4", () -> -1);
+        int evicted = bounded.execute("key-0", () -> -1);
+        assertEquals(4, kept);
+        assertEquals(-1, evicted);
+    }
+
+    @Test
+    void errorsReachWaitersAndAreNotRemembered() throws Exception {
+        IdempotencyStore store = new IdempotencyStore(600, 100);
+        Gate started = new Gate();
+        Gate release = new Gate();
+        try (Callers callers = new Callers(2)) {
+            Future<Object> first = callers.submit(() -> store.execute("key-1", () -> {
+                started.open();
+                release.pass();
+                throw new StackOverflowError();
+            }));
+            started.awaitOpen();
+            Future<Object> duplicate = callers.submit(() -> store.execute("key-1", () -> "second run"));
+            release.open();
+
+            ExecutionException e = assertThrows(ExecutionException.class, () -> get(first));
+            assertInstanceOf(StackOverflowError.class, e.getCause());
+            // the duplicate either got the failure or ran after it; before the fix it hung
+            try {
+                assertEquals("second run", get(duplicate));
+            } catch (ExecutionException waited) {
+                assertInstanceOf(StackOverflowError.class, waited.getCause());
+            }
+        }
+    }
+
+    @Test
+    void runningKeysAreNotEvicted() throws Exception {
+        IdempotencyStore store = new IdempotencyStore(600, 2);
+        AtomicInteger firstKeyRuns = new AtomicInteger();
+        Gate started = new Gate(4);
+        Gate release = new Gate();
+        try (Callers callers = new Callers(5)) {
+            List<Future<Integer>> running = new ArrayList<>();
+            for (int i = 0; i < 4; i++) {
+                int value = i;
+                running.add(callers.submit(() -> store.execute("key-" + value, () -> {
+                    if (value == 0) {
+                        firstKeyRuns.incrementAndGet();
+                    }
+                    started.open();
+                    release.pass();
+                    return value;
+                })));
+            }
+            assertTrue(started.awaitOpen());
+
+            // more keys in flight than max-keys: a duplicate of the oldest must still wait for it
+            Future<Integer> duplicate = callers.submit(() -> store.execute("key-0", () -> {
+                firstKeyRuns.incrementAndGet();
+                return -1;
+            }));
+            assertThrows(TimeoutException.class, () -> duplicate.get(200, TimeUnit.MILLISECONDS));
+
+            release.open();
+            assertEquals(0, get(duplicate));
+            for (int i = 0; i < 4; i++) {
+                assertEquals(i, get(running.get(i)));
+            }
+            assertEquals(1, firstKeyRuns.get());
+        }
+    }
+}
@@ -0,0 +1,133 @@
+package com.example.studentcrud.service;
+
+import com.example.studentcrud.entity.Student;
+import org.junit.jupiter.api.Test;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Optional;
+import java.util.concurrent.*;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import static com.example.studentcrud.service.Callers.get;
+import static org.junit.jupiter.api.Assertions.*;
+
+class StudentLookupCoalescerTests {
+
+    @Test
+    void concurrentLookupsShareOneLoad() throws Exception {
+        StudentLookupCoalescer coalescer = new StudentLookupCoalescer();
+        AtomicInteger queries = new AtomicInteger();
+        Gate started = new Gate();
+        Gate release = new Gate();
+        try (Callers callers = new Callers(8)) {
+            List<Future<Optional<Student>>> results = new ArrayList<>();
+            results.add(callers.submit(() -> coalescer.load(1L, () -> {
+                started.open();
+                release.pass();
+                queries.incrementAndGet();
+                return Optional.of(student(1L, "Asha"));
+            })));
+            started.awaitOpen();
+            results.addAll(callers.submit(7, () -> coalescer.load(1L, () -> {
+                queries.incrementAndGet();
+                return Optional.empty();
+            })));
+            waitForCoalesced(coalescer, 7);
+            release.open();
+
+            List<Student> students = new ArrayList<>();
+            for (Future<Optional<Student>> result : results) {
+                Student s = get(result).orElseThrow();
+                assertEquals("Asha", s.getName());
+                students.add(s);
+            }
+            assertEquals(1, queries.get());
+            assertEquals(8, students.stream().distinct().count()); // each caller got its own instance
+
+            assertEquals(8L, coalescer.stats().get("lookups"));
+            assertEquals(1L, coalescer.stats().get("loads"));
+            assertEquals(7L, coalescer.stats().get("coalesced"));
+            assertEquals(0L, coalescer.stats().get("inFlight"));
+        }
+    }
+
+    @Test
+    void asyncLookupsShareOneLoad() throws Exception {
+        StudentLookupCoalescer coalescer = new StudentLookupCoalescer();
+        AtomicInteger queries = new AtomicInteger();
+        Gate release = new Gate();
+        try (Callers db = new Callers(2)) {
+            List<CompletableFuture<Optional<Student>>> results = new ArrayList<>();
+            for (int i = 0; i < 5; i++) {
+                results.add(coalescer.loadAsync(2L, () -> {
+                    release.pass();
+                    queries.incrementAndGet();
+                    return Optional.of(student(2L, "Ravi"));
+                }, db.executor()));
+            }
+            release.open();
+            for (CompletableFuture<Optional<Student>> result : results) {
+                assertEquals("Ravi", get(result).orElseThrow().getName());
+            }
+            assertEquals(1, queries.get());
+            assertEquals(4L, coalescer.stats().get("coalesced"));
+        }
+    }
+
+    @Test
+    void finishedAndFailedLoadsAreNotRemembered() {
+        StudentLookupCoalescer coalescer = new StudentLookupCoalescer();
+        assertThrows(IllegalStateException.class, () -> coalescer.load(3L, () -> {
+            throw new IllegalStateException("db down");
+        }));
+        assertEquals(Optional.empty(), coalescer.load(3L, Optional::empty));
+        assertEquals("Meera", coalescer.load(3L, () -> Optional.of(student(3L, "Meera"))).orElseThrow().getName());
+        assertEquals(3L, coalescer.stats().get("loads"));
+        assertEquals(0L, coalescer.stats().get("coalesced"));
+    }
+
+    @Test
+    void lookupsAfterForgetStartANewLoad() throws Exception {
+        StudentLookupCoalescer coalescer = new StudentLookupCoalescer();
+        Gate release = new Gate();
+        try (Callers db = new Callers(1); Callers fresh = new Callers(1)) {
+            CompletableFuture<Optional<Student>> stale = coalescer.loadAsync(4L, () -> {
+                release.pass();
+                return Optional.of(student(4L, "old"));
+            }, db.executor());
+            coalescer.forget(4L); // e.g. the student was updated meanwhile
+            CompletableFuture<Optional<Student>> current = coalescer.loadAsync(4L,
+                    () -> Optional.of(student(4L, "new")), fresh.executor());
+            assertEquals("new", get(current).orElseThrow().getName());
+            release.open();
+            assertEquals("old", get(stale).orElseThrow().getName());
+            assertEquals(2L, coalescer.stats().get("loads"));
+        }
+    }
+
+    @Test
+    void rejectedLoadsFailAndAreNotRemembered() {
+        StudentLookupCoalescer coalescer = new StudentLookupCoalescer();
+        CompletableFuture<Optional<Student>> rejected = coalescer.loadAsync(5L, Optional::empty, task -> {
+            throw new RejectedExecutionException("db pool full");
+        });
+        ExecutionException e = assertThrows(ExecutionException.class, () -> get(rejected));
+        assertInstanceOf(RejectedExecutionException.class, e.getCause());
+        assertEquals(0L, coalescer.stats().get("inFlight"));
+    }
+
+    private static Student student(Long id, String name) {
+        Student s = new Student(name, name.toLowerCase() + "@example.com", "CS");
+        s.setId(id);
+        return s;
+    }
+
+    // until the followers have joined the running load
+    private static void waitForCoalesced(StudentLookupCoalescer coalescer, long coalesced) throws InterruptedException {
+        long deadline = System.nanoTime() + TimeUnit.SECONDS.toNanos(5);
+        while (coalescer.stats().get("coalesced") < coalesced && System.nanoTime() < deadline) {
+            Thread.sleep(1);
+        }
+    }
+}
@@ -0,0 +1,75 @@
+package com.example.studentcrud.service;
+
+import com.example.studentcrud.entity.Student;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.condition.EnabledIfSystemProperty;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+import java.util.Random;
+
+// Search latency of StudentNameIndex over a million synthetic students.
+// Run with: ./mvnw test -Dtest=StudentNameIndexBenchmarkTests -Dbenchmark=true
+@EnabledIfSystemProperty(named = "benchmark", matches = "true")
+class StudentNameIndexBenchmarkTests {
+
+    private static final int STUDENTS = 1_000_000;
+
+    private static final String[] FIRST = {"Aarav", "Ananya", "Ravi", "Meera", "Kabir", "Isha", "Rohan", "Diya",
+            "Arjun", "Saanvi", "Vikram", "Priya", "Aditya", "Kavya", "Nikhil", "Sneha"};
+    private static final String[] LAST = {"Sharma", "Verma", "Iyer", "Nair", "Reddy", "Gupta", "Kumar", "Mehta",
+            "Joshi", "Patel", "Rao", "Das", "Singh", "Menon", "Bose", "Kapoor"};
+
+    @Test
+    void searchOverAMillionStudents() {
+        Random r = new Random(1);
+        List<Student> students = new ArrayList<>(STUDENTS);
+        for (int i = 0; i < STUDENTS; i++) {
+            // a random suffix keeps the names (and trigrams) from repeating
+            Student s = new Student(FIRST[r.nextInt(FIRST.length)] + " " + LAST[r.nextInt(LAST.length)] + " "
+                    + Integer.toString(r.nextInt(1 << 30), 36), "s" + i + "@example.com", "CS");
+            s.setId((long) i);
+            students.add(s);
+        }
+        StudentNameIndex index = new StudentNameIndex();
+        long start = System.nanoTime();
+        index.rebuild(students);
+        System.out.printf("rebuild %d students: %d ms, %s%n", STUDENTS, (System.nanoTime() - start) / 1_000_000,
+                index.stats());
+
+        // common and rare prefixes, word starts, substrings and misses
+        run(index, "a");
+        run(index, "ra");
+        run(index, "ravi");
+        run(index, "sharma");
+        run(index, "meera kumar");
+        run(index, "kapo");
+        run(index, "zq9");
+        run(index, "xyzzy");
+
+        // an update re-inserts the name into ~20 posting lists of up to ~100k entries
+        start = System.nanoTime();
+        for (int i = 0; i < 1_000; i++) {
+            index.put(students.get(i * 997));
+        }
+        System.out.printf("put           %9.1f us/op%n", (System.nanoTime() - start) / 1e3 / 1_000);
+    }
+
+    private static void run(StudentNameIndex index, String query) {
+        int ops = 2_000;
+        for (int i = 0; i < ops / 10; i++) {
+            index.search(query, 20); // warm up
+        }
+        long[] nanos = new long[ops];
+        int found = 0;
+        for (int i = 0; i < ops; i++) {
+            long start = System.nanoTime();
+            found = index.search(query, 20).size();
+            nanos[i] = System.nanoTime() - start;
+        }
+        Arrays.sort(nanos);
+        System.out.printf("%-13s %3d hits  p50 %9.1f us  p99 %9.1f us  max %9.1f us%n", '"' + query + '"', found,
+                nanos[ops / 2] / 1e3, nanos[ops * 99 / 100] / 1e3, nanos[ops - 1] / 1e3);
+    }
+}
@@ -0,0 +1,150 @@
+package com.example.studentcrud.service;
+
+import com.example.studentcrud.entity.Student;
+import org.junit.jupiter.api.Test;
+
+import java.util.*;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class StudentNameIndexTests {
+
+    @Test
+    void shortQueriesMatchNamePrefixesOnly() {
+        StudentNameIndex index = index("Anna", "Bob Anders", "an", "Dan", "A");
+
+        assertEquals(List.of("A", "an", "Anna"), names(index.search("a", 10)));
+        assertEquals(List.of("an", "Anna"), names(index.search("AN", 10)));
+        assertEquals(List.of("Bob Anders"), names(index.search("bo", 10)));
+        assertEquals(List.of(), names(index.search("nd", 10)));
+    }
+
+    @Test
+    void trigramsOutOfOrderDoNotMatch() {
+        // has abc, bcd and cde, but never "abcde"
+        StudentNameIndex index = index("abcd bcde", "xabcdex");
+
+        assertEquals(List.of("xabcdex"), names(index.search("abcde", 10)));
+        assertEquals(List.of(), names(index.search("bcdab", 10)));
+    }
+
+    @Test
+    void resultsAreRankedByTierThenLengthThenInsertion() {
+        StudentNameIndex index = index("Joanna", "Mary Ann", "Annie", "Annabel", "Annex", "Ann", "Anna", "Jo Annabel",
+                "Hanna Ann");
+
+        // "Hanna Ann" ranks by its word-start match, not the first occurrence
+        assertEquals(List.of("Ann", "Anna", "Annie", "Annex", "Annabel", "Mary Ann", "Hanna Ann", "Jo Annabel", "Joanna"),
+                names(index.search("ann", 10)));
+        assertEquals(List.of("Ann", "Anna", "Annie"), names(index.search("ANN", 3)));
+        assertEquals(List.of(), index.search("ann", 0));
+        assertEquals(List.of(), index.search("  ", 10));
+    }
+
+    @Test
+    void updatesAndDeletesAreReflected() {
+        StudentNameIndex index = index("Ravi Kumar", "Ravi", "Ravina");
+
+        index.put(student(1L, "Meera")); // was Ravi Kumar
+        assertEquals(List.of("Ravi", "Ravina"), names(index.search("ravi", 10)));
+        assertEquals(List.of("Meera"), names(index.search("mee", 10)));
+
+        index.put(student(2L, "Raven")); // was Ravi
+        index.put(student(4L, "Ravel"));
+        assertEquals(List.of("Raven", "Ravel", "Ravina"), names(index.search("rav", 10)));
+
+        index.remove(3L);
+        index.remove(99L);
+        assertEquals(List.of("Raven", "Ravel"), names(index.search("ra", 10)));
+        assertEquals(3L, index.stats().get("students"));
+    }
+
+    @Test
+    void matchesAModelAcrossCompactions() {
+        StudentNameIndex index = new StudentNameIndex();
+        // id -> name, in index insertion order (an update moves the student to the end)
+        LinkedHashMap<Long, String> model = new LinkedHashMap<>();
+        String[] parts = {"an", "na", "ravi", "mee", "ra", "kumar", "jo", "ann", " ", "é"};
+        Random r = new Random(42);
+
+        // 5000 puts/removes over at most 60 ids, so the slot list passes 2 * live + 1024 several times
+        for (int op = 0; op < 5000; op++) {
+            long id = r.nextInt(60);
+            if (r.nextInt(4) == 0) {
+                index.remove(id);
+                model.remove(id);
+            } else {
+                StringBuilder name = new StringBuilder();
+                for (int i = 1 + r.nextInt(4); i > 0; i--) {
+                    name.append(parts[r.nextInt(parts.length)]);
+                }
+                String n = r.nextInt(2) == 0 ? name.toString() : name.toString().toUpperCase(Locale.ROOT);
+                index.put(student(id, n));
+                model.remove(id);
+                model.put(id, n);
+            }
+            if (op % 50 == 0) {
+                for (String q : List.of("a", "an", "ann", "ra", "ravi", "na an", "mee", "x", "é")) {
+                    assertEquals(expected(model, q, 5), names(index.search(q, 5)), "op " + op + " query " + q);
+                }
+            }
+        }
+        assertEquals((long) model.size(), index.stats().get("students"));
+    }
+
+    // Brute-force search with the ranking documented on StudentNameIndex.search
+    private static List<String> expected(LinkedHashMap<Long, String> model, String q, int limit) {
+        String query = q.trim().toLowerCase(Locale.ROOT);
+        List<String> names = new ArrayList<>();
+        List<Integer> tiers = new ArrayList<>();
+        for (String name : model.values()) {
+            String key = name.toLowerCase(Locale.ROOT);
+            int tier = key.startsWith(query) ? 1
+                    : query.length() < 3 ? 0
+                    : key.contains(" " + query) ? 2
+                    : key.contains(query) ? 3 : 0;
+            if (tier == 0) {
+                continue;
+            }
+            names.add(name);
+            tiers.add(tier);
+        }
+        Integer[] order = new Integer[names.size()];
+        for (int i = 0; i < order.length; i++) {
+            order[i] = i;
+        }
+        // exact matches are the shortest prefix matches; stable sort keeps insertion order for equal ranks
+        Arrays.sort(order, Comparator.<Integer>comparingInt(tiers::get)
+                .thenComparingInt(i -> names.get(i).toLowerCase(Locale.ROOT).length()));
+        List<String> result = new ArrayList<>();
+        for (int i = 0; i < Math.min(limit, order.length); i++) {
+            result.add(names.get(order[i]));
+        }
+        return result;
+    }
+
+    // Students get ids 1, 2, 3, ... in argument order
+    private static StudentNameIndex index(String... names) {
+        StudentNameIndex index = new StudentNameIndex();
+        List<Student> students = new ArrayList<>();
+        for (int i = 0; i < names.length; i++) {
+            students.add(student(i + 1L, names[i]));
+        }
+        index.rebuild(students);
+        return index;
+    }
+
+    private static Student student(Long id, String name) {
+        Student s = new Student(name, "s" + id + "@example.com", "CS");
+        s.setId(id);
+        return s;
+    }
+
+    private static List<String> names(List<Student> students) {
+        List<String> names = new ArrayList<>();
+        for (Student s : students) {
+            names.add(s.getName());
+        }
+        return names;
+    }
+}
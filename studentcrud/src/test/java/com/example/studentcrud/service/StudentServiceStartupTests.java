@@ -0,0 +1,60 @@
+package com.example.studentcrud.service;
+
+import com.example.studentcrud.entity.Student;
+import com.example.studentcrud.repository.StudentRepository;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.ApplicationRunner;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.boot.test.context.TestConfiguration;
+import org.springframework.context.annotation.Bean;
+
+import java.util.ArrayList;
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+
+// The name index and the snapshot are loaded while the context starts, so even an
+// ApplicationRunner (which runs after the web server is up, before ApplicationReadyEvent)
+// sees the students already in the database. Own database, so the seeded rows stay
+// out of the other tests.
+@SpringBootTest(properties = {
+        "spring.datasource.url=jdbc:h2:mem:startup",
+        "spring.jpa.show-sql=false",
+        "studentcrud.snapshot.enabled=true"})
+class StudentServiceStartupTests {
+
+    private static final List<String> searchedAtStartup = new ArrayList<>();
+    private static final List<String> listedAtStartup = new ArrayList<>();
+
+    @TestConfiguration
+    static class Startup {
+        // rows already in the database when the application starts
+        Startup(StudentRepository repo) {
+            repo.saveAll(List.of(new Student("Ada Lovelace", "ada@example.com", "Maths"),
+                    new Student("Alan Turing", "alan@example.com", "CS")));
+        }
+
+        @Bean
+        ApplicationRunner probe(StudentService service) {
+            return args -> {
+                searchedAtStartup.addAll(names(service.searchStudents("ada", 10)));
+                listedAtStartup.addAll(names(service.getAllStudents()));
+            };
+        }
+    }
+
+    @Autowired
+    private StudentService service;
+
+    @Test
+    void existingStudentsAreServedBeforeTheApplicationIsReady() {
+        assertEquals(List.of("Ada Lovelace"), searchedAtStartup);
+        assertEquals(List.of("Ada Lovelace", "Alan Turing"), listedAtStartup);
+        assertEquals(2L, service.getSearchIndexStats().get("students"));
+    }
+
+    private static List<String> names(List<Student> students) {
+        return students.stream().map(Student::getName).toList();
+    }
+}
@@ -0,0 +1,130 @@
+package com.example.studentcrud.service;
+
+import com.example.studentcrud.entity.Student;
+import org.junit.jupiter.api.Test;
+
+import java.util.*;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class StudentSnapshotTests {
+
+    @Test
+    void roundTripsNullAndNonAsciiFields() {
+        StudentSnapshot snapshot = new StudentSnapshot();
+        snapshot.load(List.of(student(1L, "Zoë Ångström", "zoë@example.com", null),
+                student(2L, null, null, null)));
+        snapshot.put(student(3L, "名前 テスト", "emoji😀@example.com", "Ελληνικά"));
+        snapshot.put(student(4L, "", "", "x".repeat(5000))); // longer than the decode scratch buffer
+
+        assertStudent(snapshot.find(1L), "Zoë Ångström", "zoë@example.com", null);
+        assertStudent(snapshot.find(2L), null, null, null);
+        assertStudent(snapshot.find(3L), "名前 テスト", "emoji😀@example.com", "Ελληνικά");
+        assertStudent(snapshot.find(4L), "", "", "x".repeat(5000));
+        assertEquals(Optional.empty(), snapshot.find(5L));
+
+        snapshot.put(student(1L, null, "zoë@example.com", "Physik")); // a field becomes null, another one set
+        assertStudent(snapshot.find(1L), null, "zoë@example.com", "Physik");
+        assertEquals(List.of(1L, 2L, 3L, 4L), ids(snapshot.findAll()));
+    }
+
+    @Test
+    void matchesAModelAcrossCompactions() {
+        StudentSnapshot snapshot = new StudentSnapshot();
+        // id -> student, in snapshot row order (an update keeps its row, a re-add goes last)
+        LinkedHashMap<Long, Student> model = new LinkedHashMap<>();
+        Random r = new Random(7);
+        long arenaBytes = 0;
+        boolean rowsCompacted = false;
+        boolean arenaCompacted = false;
+
+        // First half: puts and removes of short strings over 40 ids, so dead rows pass
+        // 2 * live + 1024 while the arena stays under 1 MB. Second half: puts only, some
+        // with long strings, so no rows die and only the arena threshold can fire.
+        for (int op = 0; op < 20_000; op++) {
+            boolean putsOnly = op >= 10_000;
+            long id = 1 + r.nextInt(40);
+            if (!putsOnly && r.nextInt(10) < 4) {
+                snapshot.remove(id);
+                model.remove(id);
+            } else {
+                int nameLength = putsOnly && r.nextInt(5) == 0 ? 3000 : 40;
+                Student s = student(id, randomString(r, nameLength), randomString(r, 30), randomString(r, 10));
+                snapshot.put(s);
+                model.put(id, s);
+            }
+
+            // the arena only ever shrinks by a compaction
+            Map<String, Long> stats = snapshot.stats();
+            if (stats.get("arenaBytes") < arenaBytes) {
+                if (putsOnly) {
+                    arenaCompacted = true;
+                } else {
+                    rowsCompacted = true;
+                }
+            }
+            arenaBytes = stats.get("arenaBytes");
+            if (!putsOnly) {
+                assertTrue(arenaBytes < 1 << 20);
+            }
+            assertEquals((long) model.size(), stats.get("students"));
+
+            long probe = 1 + r.nextInt(45);
+            Student expected = model.get(probe);
+            if (expected == null) {
+                assertEquals(Optional.empty(), snapshot.find(probe), "op " + op);
+            } else {
+                assertStudent(snapshot.find(probe), expected.getName(), expected.getEmail(), expected.getCourse());
+            }
+            if (op % 500 == 0) {
+                assertAll(model, snapshot.findAll());
+            }
+        }
+        assertAll(model, snapshot.findAll());
+        assertTrue(rowsCompacted, "row compaction never ran");
+        assertTrue(arenaCompacted, "arena compaction never ran");
+    }
+
+    // Mostly ASCII, with some multi-byte chars and the odd null
+    private static String randomString(Random r, int maxLength) {
+        if (r.nextInt(10) == 0) {
+            return null;
+        }
+        String chars = "abcdefghij ABC-éüßçΩЖ中文😀";
+        StringBuilder s = new StringBuilder();
+        for (int i = r.nextInt(maxLength + 1); i > 0; i--) {
+            int c = r.nextInt(chars.length() - 1); // the emoji's high surrogate at most
+            s.append(chars, c, Character.isHighSurrogate(chars.charAt(c)) ? c + 2 : c + 1);
+        }
+        return s.toString();
+    }
+
+    private static void assertAll(LinkedHashMap<Long, Student> model, List<Student> all) {
+        assertEquals(new ArrayList<>(model.keySet()), ids(all));
+        for (Student s : all) {
+            Student expected = model.get(s.getId());
+            assertStudent(Optional.of(s), expected.getName(), expected.getEmail(), expected.getCourse());
+        }
+    }
+
+    private static void assertStudent(Optional<Student> actual, String name, String email, String course) {
+        Student s = actual.orElseThrow();
+        assertEquals(name, s.getName());
+        assertEquals(email, s.getEmail());
+        assertEquals(course, s.getCourse());
+    }
+
+    private static Student student(Long id, String name, String email, String course) {
+        Student s = new Student(name, email, course);
+        s.setId(id);
+        return s;
+    }
+
+    private static List<Long> ids(List<Student> students) {
+        List<Long> ids = new ArrayList<>();
+        for (Student s : students) {
+            ids.add(s.getId());
+        }
+        return ids;
+    }
+}
@@ -0,0 +1,52 @@
+#!/bin/bash
+# Measures time-to-first-request: from JVM launch until GET /api/students answers 200.
+#
+#   ./mvnw -Pfast-startup package
+#   ./startup-bench.sh [runs]
+#
+# "default" runs the fat jar as-is, "fast" runs the extracted jar with
+# the prod profile, Spring AOT and the AppCDS archive from the build.
+
+RUNS=${1:-5}
+PORT=8702
+URL="http://localhost:$PORT/api/students"
+JAR=studentcrud-0.0.1-SNAPSHOT.jar
+cd "$(dirname "$0")/target" || exit 1
+
+if [ ! -f app/application.jsa ]; then
+    echo "target/app/application.jsa missing, build with: ./mvnw -Pfast-startup package"
+    exit 1
+fi
+
+now_ms() {
+    echo $(( $(date +%s%N) / 1000000 ))
+}
+
+# $1 = label, $2 = working dir, rest = java arguments
+measure() {
+    local label=$1 dir=$2
+    shift 2
+    local total=0
+    for i in $(seq 1 "$RUNS"); do
+        local start=$(now_ms)
+        (cd "$dir" && exec java "$@" > /dev/null 2>&1) &
+        local pid=$!
+        until curl -sf -o /dev/null "$URL"; do
+            if ! kill -0 $pid 2> /dev/null; then
+                echo "$label: application exited before serving a request"
+                return 1
+            fi
+            sleep 0.01
+        done
+        local elapsed=$(( $(now_ms) - start ))
+        kill $pid
+        wait $pid 2> /dev/null
+        echo "$label run $i: ${elapsed} ms"
+        total=$(( total + elapsed ))
+    done
+    echo "$label average time-to-first-request: $(( total / RUNS )) ms"
+}
+
+measure default . -jar "$JAR"
+measure fast app -XX:SharedArchiveFile=application.jsa -Dspring.aot.enabled=true \
+    -Dspring.profiles.active=prod -jar "$JAR"